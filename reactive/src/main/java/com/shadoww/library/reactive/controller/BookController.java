@@ -0,0 +1,80 @@
+package com.shadoww.library.reactive.controller;
+
+import com.shadoww.library.dto.BookRequestDto;
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.reactive.model.Book;
+import com.shadoww.library.reactive.service.BookService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/books")
+@RequiredArgsConstructor
+public class BookController {
+
+    private final BookService bookService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Create a new book or increase its amount if it exists")
+    public Mono<BookResponseDto> create(
+            @RequestBody @Valid BookRequestDto dto
+    ) {
+        return bookService.createOrIncrement(toEntity(dto)).map(this::toDto);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all books")
+    public Flux<BookResponseDto> getAll() {
+        return bookService.findAll().map(this::toDto);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get book by ID")
+    public Mono<BookResponseDto> getById(
+            @PathVariable Long id
+    ) {
+        return bookService.findById(id).map(this::toDto);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update book by ID")
+    public Mono<BookResponseDto> update(
+            @PathVariable Long id, @RequestBody @Valid BookRequestDto dto
+    ) {
+        return bookService.update(id, toEntity(dto)).map(this::toDto);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete book if not borrowed")
+    public Mono<Void> delete(
+            @PathVariable Long id
+    ) {
+        return bookService.delete(id);
+    }
+
+    // methods for converting from DTO to Entity and vice versa
+
+    private Book toEntity(BookRequestDto dto) {
+        Book book = new Book();
+        book.setTitle(dto.title());
+        book.setAuthor(dto.author());
+
+        return book;
+    }
+
+    private BookResponseDto toDto(Book book) {
+        return new BookResponseDto(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getAmount()
+        );
+    }
+}
@@ -0,0 +1,59 @@
+package com.shadoww.library.reactive.controller;
+
+import com.shadoww.library.dto.BorrowRequestDto;
+import com.shadoww.library.dto.BorrowResponseDto;
+import com.shadoww.library.dto.BorrowedBookDto;
+import com.shadoww.library.reactive.model.Borrow;
+import com.shadoww.library.reactive.service.BorrowService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/borrows")
+@RequiredArgsConstructor
+public class BorrowController {
+
+    private final BorrowService borrowService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Borrow a book")
+    public Mono<BorrowResponseDto> borrowBook(
+            @RequestBody @Valid BorrowRequestDto dto
+    ) {
+        return borrowService.borrowBook(dto.memberId(), dto.bookId()).map(this::toDto);
+    }
+
+    @PostMapping("/{borrowId}/return")
+    @Operation(summary = "Return a borrowed book")
+    public Mono<BorrowResponseDto> returnBook(
+            @PathVariable Long borrowId
+    ) {
+        return borrowService.returnBook(borrowId).map(this::toDto);
+    }
+
+    @GetMapping("/by-member")
+    @Operation(summary = "Get all books borrowed by a specific member (by name)")
+    public Flux<BorrowedBookDto> getByMemberName(
+            @RequestParam String name
+    ) {
+        return borrowService.getBorrowsByMemberName(name);
+    }
+
+    private BorrowResponseDto toDto(Borrow borrow) {
+        return new BorrowResponseDto(
+                borrow.getId(),
+                borrow.getBookId(),
+                borrow.getMemberId(),
+                borrow.getBorrowDate(),
+                borrow.getDueDate(),
+                borrow.getReturnDate(),
+                borrow.isReturned()
+        );
+    }
+}
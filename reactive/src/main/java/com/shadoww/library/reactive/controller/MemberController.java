@@ -0,0 +1,78 @@
+package com.shadoww.library.reactive.controller;
+
+import com.shadoww.library.dto.MemberRequestDto;
+import com.shadoww.library.dto.MemberResponseDto;
+import com.shadoww.library.reactive.model.Member;
+import com.shadoww.library.reactive.service.MemberService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/members")
+@RequiredArgsConstructor
+public class MemberController {
+
+    private final MemberService memberService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Create new member")
+    public Mono<MemberResponseDto> create(
+            @RequestBody @Valid MemberRequestDto dto
+    ) {
+        return memberService.create(toEntity(dto)).map(this::toDto);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all members")
+    public Flux<MemberResponseDto> getAll() {
+        return memberService.findAll().map(this::toDto);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get member by ID")
+    public Mono<MemberResponseDto> getById(
+            @PathVariable Long id
+    ) {
+        return memberService.findById(id).map(this::toDto);
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update member by ID")
+    public Mono<MemberResponseDto> update(
+            @PathVariable Long id, @RequestBody @Valid MemberRequestDto dto
+    ) {
+        return memberService.update(id, toEntity(dto)).map(this::toDto);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Delete member if no borrowed books")
+    public Mono<Void> delete(
+            @PathVariable Long id
+    ) {
+        return memberService.delete(id);
+    }
+
+    // methods for converting from DTO to Entity and vice versa
+
+    private Member toEntity(MemberRequestDto dto) {
+        Member member = new Member();
+        member.setName(dto.name());
+
+        return member;
+    }
+
+    private MemberResponseDto toDto(Member member) {
+        return new MemberResponseDto(
+                member.getId(),
+                member.getName(),
+                member.getMembershipDate()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.shadoww.library.reactive.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("book")
+@NoArgsConstructor
+@Getter
+@Setter
+public class Book {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String author;
+
+    private int amount = 1;
+}
@@ -0,0 +1,31 @@
+package com.shadoww.library.reactive.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("borrow")
+@NoArgsConstructor
+@Getter
+@Setter
+public class Borrow {
+
+    @Id
+    private Long id;
+
+    private Long bookId;
+
+    private Long memberId;
+
+    private LocalDateTime borrowDate;
+
+    private LocalDateTime dueDate;
+
+    private LocalDateTime returnDate;
+
+    private boolean returned = false;
+}
@@ -0,0 +1,23 @@
+package com.shadoww.library.reactive.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("member")
+@NoArgsConstructor
+@Getter
+@Setter
+public class Member {
+
+    @Id
+    private Long id;
+
+    private String name;
+
+    private LocalDateTime membershipDate;
+}
@@ -0,0 +1,26 @@
+package com.shadoww.library.reactive.repository;
+
+import com.shadoww.library.reactive.model.Book;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface BookRepository extends R2dbcRepository<Book, Long> {
+
+    @Query("SELECT * FROM book WHERE LOWER(title) = LOWER(:title) AND LOWER(author) = LOWER(:author)")
+    Mono<Book> findByTitleIgnoreCaseAndAuthorIgnoreCase(@Param("title") String title, @Param("author") String author);
+
+    // stock changes are single conditional statements, so amount can never go negative
+
+    @Modifying
+    @Query("UPDATE book SET amount = amount - 1 WHERE id = :id AND amount > 0")
+    Mono<Integer> takeCopy(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE book SET amount = amount + 1 WHERE id = :id")
+    Mono<Integer> addCopy(@Param("id") Long id);
+}
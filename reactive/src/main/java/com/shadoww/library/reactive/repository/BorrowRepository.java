@@ -0,0 +1,36 @@
+package com.shadoww.library.reactive.repository;
+
+import com.shadoww.library.reactive.model.Borrow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BorrowRepository extends R2dbcRepository<Borrow, Long> {
+
+    Mono<Long> countByMemberIdAndReturnedFalse(Long memberId);
+
+    Mono<Long> countByBookIdAndReturnedFalse(Long bookId);
+
+    @Query("""
+            SELECT br.* FROM borrow br
+            JOIN member m ON m.id = br.member_id
+            WHERE LOWER(m.name) = LOWER(:name)
+            ORDER BY br.borrow_date
+            """)
+    Flux<Borrow> findByMemberNameIgnoreCase(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE borrow SET returned = TRUE, return_date = :returnDate WHERE id = :id AND returned = FALSE")
+    Mono<Integer> markReturned(@Param("id") Long id, @Param("returnDate") LocalDateTime returnDate);
+
+    @Modifying
+    @Query("DELETE FROM borrow WHERE book_id = :bookId")
+    Mono<Integer> deleteByBookId(@Param("bookId") Long bookId);
+}
@@ -0,0 +1,16 @@
+package com.shadoww.library.reactive.repository;
+
+import com.shadoww.library.reactive.model.Member;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface MemberRepository extends R2dbcRepository<Member, Long> {
+
+    // row lock serializing concurrent borrows of one member, so the borrow limit holds
+    @Query("SELECT * FROM member WHERE id = :id FOR UPDATE")
+    Mono<Member> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,18 @@
+package com.shadoww.library.reactive.service;
+
+import com.shadoww.library.reactive.model.Book;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookService {
+
+    Mono<Book> createOrIncrement(Book book);
+
+    Mono<Book> update(Long id, Book updatedBook);
+
+    Mono<Void> delete(Long id);
+
+    Mono<Book> findById(Long id);
+
+    Flux<Book> findAll();
+}
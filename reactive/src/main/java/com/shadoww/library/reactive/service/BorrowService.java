@@ -0,0 +1,15 @@
+package com.shadoww.library.reactive.service;
+
+import com.shadoww.library.dto.BorrowedBookDto;
+import com.shadoww.library.reactive.model.Borrow;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BorrowService {
+
+    Mono<Borrow> borrowBook(Long memberId, Long bookId);
+
+    Mono<Borrow> returnBook(Long borrowId);
+
+    Flux<BorrowedBookDto> getBorrowsByMemberName(String name);
+}
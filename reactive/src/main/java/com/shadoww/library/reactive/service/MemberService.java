@@ -0,0 +1,18 @@
+package com.shadoww.library.reactive.service;
+
+import com.shadoww.library.reactive.model.Member;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface MemberService {
+
+    Mono<Member> create(Member member);
+
+    Mono<Member> update(Long id, Member updated);
+
+    Mono<Void> delete(Long id);
+
+    Mono<Member> findById(Long id);
+
+    Flux<Member> findAll();
+}
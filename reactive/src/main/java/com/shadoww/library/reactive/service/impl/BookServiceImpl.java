@@ -0,0 +1,88 @@
+package com.shadoww.library.reactive.service.impl;
+
+import com.shadoww.library.reactive.model.Book;
+import com.shadoww.library.reactive.repository.BookRepository;
+import com.shadoww.library.reactive.repository.BorrowRepository;
+import com.shadoww.library.reactive.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class BookServiceImpl implements BookService {
+
+    private final BookRepository bookRepository;
+    private final BorrowRepository borrowRepository;
+
+
+    @Override
+    @Transactional
+    public Mono<Book> createOrIncrement(Book book) {
+        return Mono.fromRunnable(() -> validate(book))
+                .then(bookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase(book.getTitle(), book.getAuthor()))
+                .flatMap(existing -> bookRepository.addCopy(existing.getId())
+                        .then(bookRepository.findById(existing.getId())))
+                .switchIfEmpty(Mono.defer(() -> bookRepository.save(book)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Book> update(Long id, Book updatedBook) {
+        return Mono.fromRunnable(() -> validate(updatedBook))
+                .then(findById(id))
+                .flatMap(existing -> {
+                    existing.setTitle(updatedBook.getTitle());
+                    existing.setAuthor(updatedBook.getAuthor());
+                    existing.setAmount(updatedBook.getAmount());
+
+                    return bookRepository.save(existing);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> delete(Long id) {
+        return findById(id)
+                .flatMap(book -> borrowRepository.countByBookIdAndReturnedFalse(id)
+                        .flatMap(active -> active > 0
+                                ? Mono.<Void>error(new IllegalStateException("Cannot delete book that is currently borrowed"))
+                                : borrowRepository.deleteByBookId(id).then(bookRepository.delete(book))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Book> findById(Long id) {
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Book not found with id: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Book> findAll() {
+        return bookRepository.findAll();
+    }
+
+    private void validate(Book book) {
+        if (Objects.isNull(book)) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        if (Objects.isNull(book.getTitle()) || book.getTitle().isEmpty()) {
+            throw new IllegalArgumentException("Book must have title");
+        }
+
+        if (Objects.isNull(book.getAuthor()) || book.getAuthor().isEmpty()) {
+            throw new IllegalArgumentException("Book must have author");
+        }
+
+        if (book.getAmount() < 0) {
+            throw new IllegalArgumentException("Book mustn't have negative amount");
+        }
+    }
+}
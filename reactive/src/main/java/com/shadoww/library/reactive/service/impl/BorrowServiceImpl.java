@@ -0,0 +1,102 @@
+package com.shadoww.library.reactive.service.impl;
+
+import com.shadoww.library.dto.BorrowedBookDto;
+import com.shadoww.library.reactive.model.Borrow;
+import com.shadoww.library.reactive.repository.BookRepository;
+import com.shadoww.library.reactive.repository.BorrowRepository;
+import com.shadoww.library.reactive.repository.MemberRepository;
+import com.shadoww.library.reactive.service.BookService;
+import com.shadoww.library.reactive.service.BorrowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+/**
+ * Same rules as the servlet BorrowServiceImpl: a member may hold at most borrow.limit open loans
+ * and a book's amount never goes below zero. The member row is locked for the duration of a borrow
+ * and stock changes are conditional updates, so both hold under concurrent requests.
+ */
+@Service
+@RequiredArgsConstructor
+public class BorrowServiceImpl implements BorrowService {
+
+    private final BorrowRepository borrowRepository;
+    private final MemberRepository memberRepository;
+    private final BookRepository bookRepository;
+    private final BookService bookService;
+    private final DatabaseClient databaseClient;
+
+    @Value("${borrow.limit}")
+    private int borrowLimit;
+
+    @Value("${borrow.loan-period-days}")
+    private int loanPeriodDays;
+
+    @Override
+    @Transactional
+    public Mono<Borrow> borrowBook(Long memberId, Long bookId) {
+        return memberRepository.findByIdForUpdate(memberId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Member not found with id: " + memberId)))
+                .then(bookService.findById(bookId))
+                .then(borrowRepository.countByMemberIdAndReturnedFalse(memberId))
+                .flatMap(activeBorrows -> activeBorrows >= borrowLimit
+                        ? Mono.<Integer>error(new IllegalStateException("Borrow limit exceeded"))
+                        : bookRepository.takeCopy(bookId))
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Borrow>error(new IllegalStateException("Book is not available"))
+                        : borrowRepository.save(newBorrow(memberId, bookId)));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Borrow> returnBook(Long borrowId) {
+        return borrowRepository.findById(borrowId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Borrow not found with id: " + borrowId)))
+                .flatMap(borrow -> borrowRepository.markReturned(borrowId, LocalDateTime.now())
+                        .flatMap(updated -> updated == 0
+                                ? Mono.<Integer>error(new IllegalStateException("Already returned"))
+                                : bookRepository.addCopy(borrow.getBookId())))
+                .then(borrowRepository.findById(borrowId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<BorrowedBookDto> getBorrowsByMemberName(String name) {
+        return databaseClient.sql("""
+                        SELECT b.title, b.author, br.borrow_date, br.return_date, br.returned
+                        FROM borrow br
+                        JOIN book b ON b.id = br.book_id
+                        JOIN member m ON m.id = br.member_id
+                        WHERE LOWER(m.name) = LOWER(:name)
+                        ORDER BY br.borrow_date
+                        """)
+                .bind("name", name)
+                .map(row -> new BorrowedBookDto(
+                        row.get("title", String.class),
+                        row.get("author", String.class),
+                        row.get("borrow_date", LocalDateTime.class),
+                        row.get("return_date", LocalDateTime.class),
+                        Boolean.TRUE.equals(row.get("returned", Boolean.class))
+                ))
+                .all();
+    }
+
+    private Borrow newBorrow(Long memberId, Long bookId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Borrow borrow = new Borrow();
+        borrow.setMemberId(memberId);
+        borrow.setBookId(bookId);
+        borrow.setBorrowDate(now);
+        borrow.setDueDate(now.plusDays(loanPeriodDays));
+
+        return borrow;
+    }
+}
@@ -0,0 +1,77 @@
+package com.shadoww.library.reactive.service.impl;
+
+import com.shadoww.library.reactive.model.Member;
+import com.shadoww.library.reactive.repository.BorrowRepository;
+import com.shadoww.library.reactive.repository.MemberRepository;
+import com.shadoww.library.reactive.service.MemberService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class MemberServiceImpl implements MemberService {
+
+    private final MemberRepository memberRepository;
+    private final BorrowRepository borrowRepository;
+
+    @Override
+    @Transactional
+    public Mono<Member> create(Member member) {
+        return Mono.fromRunnable(() -> validate(member))
+                .then(Mono.defer(() -> {
+                    member.setMembershipDate(LocalDateTime.now());
+                    return memberRepository.save(member);
+                }));
+    }
+
+    @Override
+    @Transactional
+    public Mono<Member> update(Long id, Member updated) {
+        return Mono.fromRunnable(() -> validate(updated))
+                .then(findById(id))
+                .flatMap(existing -> {
+                    existing.setName(updated.getName());
+                    return memberRepository.save(existing);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> delete(Long id) {
+        return findById(id)
+                .flatMap(member -> borrowRepository.countByMemberIdAndReturnedFalse(id)
+                        .flatMap(active -> active > 0
+                                ? Mono.<Void>error(new IllegalStateException("Cannot delete member with borrowed books"))
+                                : memberRepository.delete(member)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Member> findById(Long id) {
+        return memberRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Member not found with id: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Member> findAll() {
+        return memberRepository.findAll();
+    }
+
+    private void validate(Member member) {
+        if (Objects.isNull(member)) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+
+        if (Objects.isNull(member.getName()) || member.getName().isEmpty()) {
+            throw new IllegalArgumentException("Member must have name");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS book (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL UNIQUE,
+    author VARCHAR(255) NOT NULL,
+    amount INT NOT NULL DEFAULT 1 CHECK (amount >= 0)
+);
+
+CREATE TABLE IF NOT EXISTS member (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    membership_date TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS borrow (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    book_id BIGINT NOT NULL REFERENCES book (id),
+    member_id BIGINT NOT NULL REFERENCES member (id),
+    borrow_date TIMESTAMP NOT NULL,
+    due_date TIMESTAMP NOT NULL,
+    return_date TIMESTAMP,
+    returned BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+CREATE INDEX IF NOT EXISTS idx_borrow_member_returned ON borrow (member_id, returned);
+CREATE INDEX IF NOT EXISTS idx_borrow_book_returned ON borrow (book_id, returned);
+CREATE INDEX IF NOT EXISTS idx_borrow_returned_due_date ON borrow (returned, due_date, id);
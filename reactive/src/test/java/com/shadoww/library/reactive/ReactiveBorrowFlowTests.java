@@ -0,0 +1,135 @@
+package com.shadoww.library.reactive;
+
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.BorrowResponseDto;
+import com.shadoww.library.dto.MemberResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "borrow.limit=2")
+public class ReactiveBorrowFlowTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void borrowAndReturn_shouldMoveStock() {
+        Long bookId = createBook("Reactive Streams", "Jane Doe").id();
+        Long memberId = createMember("Alice").id();
+
+        BorrowResponseDto borrow = borrow(memberId, bookId)
+                .expectStatus().isCreated()
+                .expectBody(BorrowResponseDto.class).returnResult().getResponseBody();
+
+        assertThat(borrow.dueDate()).isAfter(borrow.borrowDate());
+        assertThat(book(bookId).amount()).isZero();
+
+        borrow(memberId, bookId).expectStatus().isEqualTo(409);
+
+        webTestClient.post().uri("/api/borrows/{id}/return", borrow.id())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BorrowResponseDto.class)
+                .value(returned -> assertThat(returned.returned()).isTrue());
+
+        webTestClient.post().uri("/api/borrows/{id}/return", borrow.id())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        assertThat(book(bookId).amount()).isEqualTo(1);
+    }
+
+    @Test
+    void borrow_shouldRespectLimit() {
+        Long memberId = createMember("Bob").id();
+
+        for (int i = 0; i < 2; i++) {
+            borrow(memberId, createBook("Limit book " + i, "John Smith").id()).expectStatus().isCreated();
+        }
+
+        borrow(memberId, createBook("Limit book 2", "John Smith").id()).expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void concurrentBorrows_shouldNeverOversellStock() {
+        Long bookId = createBook("Contended Title", "Mary Major").id();
+        for (int i = 0; i < 2; i++) {
+            createBook("Contended Title", "Mary Major");
+        }
+
+        List<Long> memberIds = Flux.range(0, 10)
+                .map(i -> createMember("Concurrent " + i).id())
+                .collectList()
+                .block();
+
+        WebClient client = WebClient.create("http://localhost:" + port);
+        List<Integer> statuses = Flux.fromIterable(memberIds)
+                .flatMap(memberId -> client.post().uri("/api/borrows")
+                        .bodyValue(Map.of("memberId", memberId, "bookId", bookId))
+                        .exchangeToMono(response -> Mono.just(response.statusCode().value())))
+                .collectList()
+                .block();
+
+        assertThat(statuses).filteredOn(status -> status == 201).hasSize(3);
+        assertThat(book(bookId).amount()).isZero();
+    }
+
+    @Test
+    void create_shouldRejectInvalidBook() {
+        webTestClient.post().uri("/api/books")
+                .bodyValue(Map.of("title", "X", "author", "nobody"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getById_shouldReturnNotFound() {
+        webTestClient.get().uri("/api/members/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec borrow(Long memberId, Long bookId) {
+        return webTestClient.post().uri("/api/borrows")
+                .bodyValue(Map.of("memberId", memberId, "bookId", bookId))
+                .exchange();
+    }
+
+    private BookResponseDto createBook(String title, String author) {
+        return webTestClient.post().uri("/api/books")
+                .bodyValue(Map.of("title", title, "author", author))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookResponseDto.class).returnResult().getResponseBody();
+    }
+
+    private MemberResponseDto createMember(String name) {
+        return webTestClient.post().uri("/api/members")
+                .bodyValue(Map.of("name", name))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(MemberResponseDto.class).returnResult().getResponseBody();
+    }
+
+    private BookResponseDto book(Long id) {
+        return webTestClient.get().uri("/api/books/{id}", id)
+                .exchange()
+                .expectBody(BookResponseDto.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,165 @@
+package com.shadoww.library.actuator;
+
+import com.shadoww.library.jfr.AggregationEvent;
+import com.shadoww.library.jfr.BorrowEvent;
+import com.shadoww.library.jfr.CatalogEvent;
+import com.shadoww.library.jfr.ReturnEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One Flight Recorder recording at a time, with the library events enabled on top of the JDK
+ * "default" or "profile" settings. {@code POST /actuator/jfr} starts it, {@code DELETE} stops it,
+ * {@code GET} downloads it, or a snapshot of it while it is still running. Recordings include
+ * system properties and environment variables, so the endpoint is off unless
+ * {@code management.endpoint.jfr.enabled=true}.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr", enableByDefault = false)
+public class FlightRecordingEndpoint implements DisposableBean {
+
+    private static final String DEFAULT_SETTINGS = "default";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(30);
+    private static final int STATUS_CONFLICT = 409;
+
+    private Recording recording;
+    private Path stopped;
+
+    // last snapshot of the running recording; replaced, not overwritten, so a download still
+    // streaming it keeps reading the old file
+    private Path snapshot;
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings,
+                                                                       @Nullable Long maxAgeSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        }
+
+        discard();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? DEFAULT_SETTINGS : settings);
+        } catch (IOException | ParseException ex) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "Unknown JFR settings");
+        }
+
+        recording = new Recording(configuration);
+        recording.setName("library");
+        recording.setMaxAge(maxAgeSeconds == null ? DEFAULT_MAX_AGE : Duration.ofSeconds(maxAgeSeconds));
+        for (Class<? extends jdk.jfr.Event> event :
+                List.of(BorrowEvent.class, ReturnEvent.class, CatalogEvent.class, AggregationEvent.class)) {
+            recording.enable(event).withoutThreshold();
+        }
+        recording.start();
+
+        log.info("Started JFR recording {} with {} settings", recording.getId(), configuration.getName());
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+
+        try {
+            stopped = Files.createTempFile("library-", ".jfr");
+            recording.stop();
+            recording.dump(stopped);
+            deleteSnapshot();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        log.info("Stopped JFR recording {}, {} bytes", recording.getId(), stopped.toFile().length());
+        return new WebEndpointResponse<>(status());
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        if (stopped != null) {
+            return new WebEndpointResponse<>(new FileSystemResource(stopped));
+        }
+
+        deleteSnapshot();
+        try {
+            snapshot = Files.createTempFile("library-snapshot-", ".jfr");
+            recording.dump(snapshot);
+            return new WebEndpointResponse<>(new FileSystemResource(snapshot));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        discard();
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", recording.getId());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        return status;
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+
+        if (stopped != null) {
+            delete(stopped);
+            stopped = null;
+        }
+        deleteSnapshot();
+    }
+
+    private void deleteSnapshot() {
+        if (snapshot != null) {
+            delete(snapshot);
+            snapshot = null;
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete old recording {}", file, ex);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shadoww.library.actuator;
+
+import com.shadoww.library.dto.InventoryAuditReportDto;
+import com.shadoww.library.service.InventoryAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/inventory} returns the last audit report (404 before the first run),
+ * {@code POST} runs an audit now.
+ */
+@Component
+@Endpoint(id = "inventory")
+@RequiredArgsConstructor
+public class InventoryAuditEndpoint {
+
+    private final InventoryAuditService inventoryAuditService;
+
+    @ReadOperation
+    public InventoryAuditReportDto lastReport() {
+        return inventoryAuditService.getLastReport().orElse(null);
+    }
+
+    @WriteOperation
+    public InventoryAuditReportDto audit() {
+        return inventoryAuditService.audit();
+    }
+}
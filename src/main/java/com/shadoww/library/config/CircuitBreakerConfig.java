@@ -0,0 +1,51 @@
+package com.shadoww.library.config;
+
+import com.shadoww.library.resilience.DatabaseCircuitBreaker;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Puts every repository behind the {@link DatabaseCircuitBreaker}: Spring Data repositories and
+ * {@code @Repository} classes. The breaker is looked up on first use, so the post-processor does
+ * not pull it and its meter registry into early initialization.
+ */
+@Configuration
+public class CircuitBreakerConfig {
+
+    @Bean
+    public static AbstractAdvisingBeanPostProcessor circuitBreakerRepositoryPostProcessor(
+            ObjectProvider<DatabaseCircuitBreaker> circuitBreaker
+    ) {
+        Supplier<DatabaseCircuitBreaker> breaker = SingletonSupplier.of(circuitBreaker::getObject);
+
+        StaticMethodMatcherPointcut repositoryMethods = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        MethodInterceptor guard = invocation -> breaker.get().guard(invocation::proceed);
+
+        AbstractAdvisingBeanPostProcessor postProcessor = new AbstractAdvisingBeanPostProcessor() {
+            @Override
+            protected boolean isEligible(Class<?> targetClass) {
+                return Repository.class.isAssignableFrom(targetClass)
+                        || AnnotatedElementUtils.hasAnnotation(targetClass, org.springframework.stereotype.Repository.class);
+            }
+        };
+        postProcessor.setBeforeExistingAdvisors(true);
+        postProcessor.setAdvisor(new DefaultPointcutAdvisor(repositoryMethods, guard));
+        return postProcessor;
+    }
+}
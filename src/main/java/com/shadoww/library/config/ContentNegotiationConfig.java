@@ -0,0 +1,22 @@
+package com.shadoww.library.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Adds binary Smile ({@code application/x-jackson-smile}) next to JSON for every controller
+ * and error handler. Clients opt in with the Accept / Content-Type headers; JSON stays the default.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
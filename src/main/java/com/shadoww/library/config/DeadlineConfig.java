@@ -0,0 +1,28 @@
+package com.shadoww.library.config;
+
+import com.shadoww.library.deadline.DeadlineTransactionManager;
+import com.shadoww.library.resilience.DatabaseCircuitBreaker;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Replaces the auto-configured JpaTransactionManager with one that honours request deadlines.
+ */
+@Configuration
+public class DeadlineConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager(
+            EntityManagerFactory entityManagerFactory,
+            DatabaseCircuitBreaker circuitBreaker,
+            ObjectProvider<TransactionManagerCustomizers> customizers
+    ) {
+        DeadlineTransactionManager transactionManager = new DeadlineTransactionManager(entityManagerFactory, circuitBreaker);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,45 @@
+package com.shadoww.library.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Iterator;
+
+/**
+ * Queue depth of the prod async appenders, next to the per-level logback.events counters
+ * that actuator already publishes. A queue sitting at capacity means events are being dropped.
+ */
+@Configuration
+@Profile("prod")
+public class LogMetricsConfig {
+
+    @Bean
+    public MeterBinder asyncAppenderMetrics() {
+        return registry -> {
+            LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+            for (Logger logger : context.getLoggerList()) {
+                Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+                while (appenders.hasNext()) {
+                    if (appenders.next() instanceof AsyncAppender async) {
+                        Gauge.builder("logging.async.queue.size", async, AsyncAppender::getNumberOfElementsInQueue)
+                                .tag("appender", async.getName())
+                                .register(registry);
+                        Gauge.builder("logging.async.queue.capacity", async, AsyncAppender::getQueueSize)
+                                .tag("appender", async.getName())
+                                .register(registry);
+                    }
+                }
+            }
+        };
+    }
+}
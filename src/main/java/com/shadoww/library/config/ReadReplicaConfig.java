@@ -0,0 +1,68 @@
+package com.shadoww.library.config;
+
+import com.shadoww.library.datasource.ReadWriteRoutingDataSource;
+import com.shadoww.library.datasource.ReadWriteRoutingDataSource.Route;
+import com.shadoww.library.datasource.ReplicaSynchronizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * "replica" profile: read-only transactions go to a second H2 instance kept in sync
+ * by {@link ReplicaSynchronizer}; writes and lagging reads go to the primary.
+ */
+@Configuration
+@Profile("replica")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(
+            @Value("${replica.datasource.url}") String url,
+            @Value("${replica.datasource.username}") String username,
+            @Value("${replica.datasource.password}") String password
+    ) {
+        return DataSourceBuilder.create()
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaSynchronizer replicaSynchronizer(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${replica.lag-ms}") long lagMs
+    ) {
+        return new ReplicaSynchronizer(primary, replica, lagMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaSynchronizer replicaSynchronizer
+    ) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaSynchronizer);
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
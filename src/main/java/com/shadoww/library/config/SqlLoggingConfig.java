@@ -0,0 +1,44 @@
+package com.shadoww.library.config;
+
+import com.shadoww.library.datasource.SqlLoggingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's "dataSource" bean in {@link SqlLoggingDataSource} when
+ * logging.sql.slow-threshold-ms is set. Only that bean is wrapped, so with the replica
+ * profile each statement is logged once rather than once per routing layer.
+ */
+@Configuration
+@ConditionalOnProperty("logging.sql.slow-threshold-ms")
+public class SqlLoggingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlLoggingDataSourcePostProcessor(
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+
+                return new SqlLoggingDataSource(
+                        dataSource,
+                        environment.getRequiredProperty("logging.sql.slow-threshold-ms", Long.class),
+                        environment.getProperty("logging.sql.sample-rate", Double.class, 0.0),
+                        meterRegistry.getObject()
+                );
+            }
+        };
+    }
+}
@@ -1,17 +1,35 @@
 package com.shadoww.library.controller;
 
+import com.shadoww.library.dto.AlsoBorrowedDto;
+import com.shadoww.library.dto.BookAvailabilityDto;
 import com.shadoww.library.dto.BookRequestDto;
 import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.IdsRequestDto;
+import com.shadoww.library.dto.ImportReportDto;
+import com.shadoww.library.dto.MultiGetResponseDto;
+import com.shadoww.library.dto.TrendingBookDto;
 import com.shadoww.library.model.Book;
+import com.shadoww.library.resilience.SnapshotFallback;
+import com.shadoww.library.service.AlsoBorrowedService;
 import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.CatalogSnapshot;
+import com.shadoww.library.service.ImportFormat;
+import com.shadoww.library.service.ImportService;
+import com.shadoww.library.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -21,6 +39,10 @@ import static java.util.stream.Collectors.toList;
 public class BookController {
 
     private final BookService bookService;
+    private final ImportService importService;
+    private final SnapshotFallback snapshotFallback;
+    private final AlsoBorrowedService alsoBorrowedService;
+    private final TrendingService trendingService;
 
 
     @PostMapping
@@ -33,22 +55,81 @@ public class BookController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all books")
-    public List<BookResponseDto> getAll() {
-        return bookService.findAll().stream()
-                .map(this::toDto)
-                .collect(toList());
+    @Operation(summary = "Get all books, optionally only the given fields, e.g. fields=id,title")
+    public ResponseEntity<List<?>> getAll(
+            @RequestParam(required = false) List<String> fields
+    ) {
+        if (fields != null && !fields.isEmpty()) {
+            return snapshotFallback.read(() -> bookService.findAll(fields), snapshot -> snapshot.findAll(fields));
+        }
+
+        return snapshotFallback.read(
+                () -> bookService.findAll().stream()
+                        .map(this::toDto)
+                        .collect(toList()),
+                CatalogSnapshot::findAll
+        );
+    }
+
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several books by ID in one round trip, e.g. ids=1,2,3")
+    public ResponseEntity<MultiGetResponseDto<BookResponseDto>> getByIds(
+            @RequestParam List<Long> ids
+    ) {
+        return findAllById(ids);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get several books by ID in one round trip, for id lists too long for a query string")
+    public ResponseEntity<MultiGetResponseDto<BookResponseDto>> lookup(
+            @RequestBody @Valid IdsRequestDto dto
+    ) {
+        return findAllById(dto.ids());
     }
 
+    @GetMapping("/availability")
+    @Operation(summary = "Get available copies of several books, e.g. ids=1,2,3")
+    public ResponseEntity<MultiGetResponseDto<BookAvailabilityDto>> getAvailability(
+            @RequestParam List<Long> ids
+    ) {
+        return findAvailabilityById(ids);
+    }
+
+    @PostMapping("/availability")
+    @Operation(summary = "Get available copies of several books, for id lists too long for a query string")
+    public ResponseEntity<MultiGetResponseDto<BookAvailabilityDto>> lookupAvailability(
+            @RequestBody @Valid IdsRequestDto dto
+    ) {
+        return findAvailabilityById(dto.ids());
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get the most borrowed books of the last hour, from memory")
+    public ResponseEntity<List<TrendingBookDto>> getTrending(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(trendingService.findTrending(limit));
+    }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a book by ID")
     public ResponseEntity<BookResponseDto> getById(
             @PathVariable Long id
     ) {
-        Book found = bookService.findById(id);
+        return snapshotFallback.read(
+                () -> toDto(bookService.findById(id)),
+                snapshot -> snapshot.findById(id)
+                        .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id))
+        );
+    }
 
-        return ResponseEntity.ok(toDto(found));
+    @GetMapping("/{id}/also-borrowed")
+    @Operation(summary = "Get the books most often borrowed by members who borrowed this one, from memory")
+    public ResponseEntity<List<AlsoBorrowedDto>> getAlsoBorrowed(
+            @PathVariable Long id
+    ) {
+        return ResponseEntity.ok(alsoBorrowedService.findAlsoBorrowed(id));
     }
 
     @PutMapping("/{id}")
@@ -70,6 +151,31 @@ public class BookController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV, ImportFormat.APPLICATION_NDJSON})
+    @Operation(summary = "Bulk import books from streamed CSV (title,author,copies) or NDJSON, summing copies of existing books")
+    public ResponseEntity<ImportReportDto> importAll(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(importService.importBooks(body, ImportFormat.of(contentType)));
+    }
+
+    // catalog reads fall back to the snapshot while the database is unavailable
+
+    private ResponseEntity<MultiGetResponseDto<BookResponseDto>> findAllById(List<Long> ids) {
+        return snapshotFallback.read(
+                () -> toMultiGet(ids, bookService.findAllById(ids), this::toDto),
+                snapshot -> toMultiGet(ids, snapshot.findAllById(ids), Function.identity())
+        );
+    }
+
+    private ResponseEntity<MultiGetResponseDto<BookAvailabilityDto>> findAvailabilityById(List<Long> ids) {
+        return snapshotFallback.read(
+                () -> toMultiGet(ids, bookService.findAvailabilityById(ids), Function.identity()),
+                snapshot -> toMultiGet(ids, snapshot.findAvailabilityById(ids), Function.identity())
+        );
+    }
+
     // methods for converting from DTO to Entity and vice versa
 
     private Book toEntity(BookRequestDto dto) {
@@ -81,6 +187,13 @@ public class BookController {
         return book;
     }
 
+    private <V, T> MultiGetResponseDto<T> toMultiGet(List<Long> ids, Map<Long, V> found, Function<V, T> toDto) {
+        return new MultiGetResponseDto<>(
+                found.values().stream().map(toDto).toList(),
+                ids.stream().distinct().filter(id -> !found.containsKey(id)).toList()
+        );
+    }
+
     private BookResponseDto toDto(Book book) {
         return new BookResponseDto(
                 book.getId(),
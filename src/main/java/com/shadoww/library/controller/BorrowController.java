@@ -4,15 +4,26 @@ import com.shadoww.library.dto.BorrowCountDto;
 import com.shadoww.library.dto.BorrowRequestDto;
 import com.shadoww.library.dto.BorrowResponseDto;
 import com.shadoww.library.dto.BorrowedBookDto;
+import com.shadoww.library.dto.KeysetSliceDto;
+import com.shadoww.library.dto.MemberBorrowDto;
+import com.shadoww.library.dto.OverdueSliceDto;
+import com.shadoww.library.dto.TopBorrowedBookDto;
 import com.shadoww.library.model.Borrow;
+import com.shadoww.library.service.BorrowCommandService;
 import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.BorrowStatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,6 +32,8 @@ import java.util.List;
 public class BorrowController {
 
     private final BorrowService borrowService;
+    private final BorrowCommandService borrowCommandService;
+    private final BorrowStatsService borrowStatsService;
 
 
     @PostMapping
@@ -28,7 +41,7 @@ public class BorrowController {
     public ResponseEntity<BorrowResponseDto> borrowBook(
             @RequestBody @Valid BorrowRequestDto dto
     ) {
-        Borrow borrow = borrowService.borrowBook(dto.memberId(), dto.bookId());
+        Borrow borrow = borrowCommandService.borrowBook(dto.memberId(), dto.bookId());
         return new ResponseEntity<>(toDto(borrow), HttpStatus.CREATED);
     }
 
@@ -37,16 +50,21 @@ public class BorrowController {
     public ResponseEntity<BorrowResponseDto> returnBook(
             @PathVariable Long borrowId
     ) {
-        Borrow borrow = borrowService.returnBook(borrowId);
+        Borrow borrow = borrowCommandService.returnBook(borrowId);
 
         return ResponseEntity.ok(toDto(borrow));
     }
 
     @GetMapping("/by-member")
-    @Operation(summary = "Get all books borrowed by a specific member (by name)")
-    public ResponseEntity<List<BorrowedBookDto>> getByMemberName(
-            @RequestParam String name
+    @Operation(summary = "Get all books borrowed by a specific member (by name), optionally only the given fields, e.g. fields=bookTitle")
+    public ResponseEntity<List<?>> getByMemberName(
+            @RequestParam String name,
+            @RequestParam(required = false) List<String> fields
     ) {
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(borrowService.getBorrowsByMemberName(name, fields));
+        }
+
         return ResponseEntity.ok(borrowService.getBorrowsByMemberName(name)
                 .stream()
                 .map((borrow -> new BorrowedBookDto(
@@ -60,6 +78,31 @@ public class BorrowController {
         );
     }
 
+    @GetMapping("/by-member/{memberId}")
+    @Operation(summary = "Get a member's borrows newest first, one keyset page at a time, optionally within from/to dates or only active ones")
+    public ResponseEntity<KeysetSliceDto<MemberBorrowDto>> getMemberHistory(
+            @PathVariable Long memberId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Slice<Borrow> history = borrowService.getMemberHistory(memberId, from, to, activeOnly, beforeDate, beforeId, size);
+
+        List<MemberBorrowDto> content = history.map(this::toMemberBorrowDto).getContent();
+        MemberBorrowDto last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        return ResponseEntity.ok(new KeysetSliceDto<>(
+                content,
+                size,
+                history.hasNext(),
+                history.hasNext() ? last.borrowDate() : null,
+                history.hasNext() ? last.id() : null
+        ));
+    }
+
     @GetMapping("/distinct-names")
     @Operation(summary = "Get all distinct borrowed book titles")
     public ResponseEntity<List<String>> getDistinctBookTitles() {
@@ -73,12 +116,56 @@ public class BorrowController {
 
     }
 
+    @GetMapping("/overdue")
+    @Operation(summary = "Get open borrows past their due date, oldest due first, one keyset page at a time")
+    public ResponseEntity<OverdueSliceDto<BorrowResponseDto>> getOverdue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDueDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Slice<Borrow> overdue = borrowService.getOverdueBorrows(afterDueDate, afterId, size);
+
+        List<BorrowResponseDto> content = overdue.map(this::toDto).getContent();
+        BorrowResponseDto last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+        return ResponseEntity.ok(new OverdueSliceDto<>(
+                content,
+                size,
+                overdue.hasNext(),
+                overdue.hasNext() ? last.dueDate() : null,
+                overdue.hasNext() ? last.id() : null
+        ));
+    }
+
+    @GetMapping("/stats/top")
+    @Operation(summary = "Get the most borrowed titles within a time window, e.g. window=7d, 30d or 365d")
+    public ResponseEntity<List<TopBorrowedBookDto>> getTopBorrowed(
+            @RequestParam(defaultValue = "30d") String window,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ResponseEntity.ok(borrowStatsService.getTopBorrowed(DurationStyle.detectAndParse(window), limit));
+    }
+
+    private MemberBorrowDto toMemberBorrowDto(Borrow borrow) {
+        return new MemberBorrowDto(
+                borrow.getId(),
+                borrow.getBook().getId(),
+                borrow.getBook().getTitle(),
+                borrow.getBook().getAuthor(),
+                borrow.getBorrowDate(),
+                borrow.getDueDate(),
+                borrow.getReturnDate(),
+                borrow.isReturned()
+        );
+    }
+
     private BorrowResponseDto toDto(Borrow borrow) {
         return new BorrowResponseDto(
                 borrow.getId(),
                 borrow.getBook().getId(),
                 borrow.getMember().getId(),
                 borrow.getBorrowDate(),
+                borrow.getDueDate(),
                 borrow.getReturnDate(),
                 borrow.isReturned()
         );
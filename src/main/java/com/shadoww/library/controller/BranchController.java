@@ -0,0 +1,118 @@
+package com.shadoww.library.controller;
+
+import com.shadoww.library.dto.BorrowRequestDto;
+import com.shadoww.library.dto.BorrowResponseDto;
+import com.shadoww.library.dto.BranchAvailabilityDto;
+import com.shadoww.library.dto.BranchRequestDto;
+import com.shadoww.library.dto.BranchResponseDto;
+import com.shadoww.library.dto.BranchStockDto;
+import com.shadoww.library.dto.BranchStockRequestDto;
+import com.shadoww.library.dto.CrossBranchAvailabilityDto;
+import com.shadoww.library.dto.MultiGetResponseDto;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.Branch;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.BranchService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/branches")
+@RequiredArgsConstructor
+public class BranchController {
+
+    private final BranchService branchService;
+    private final BorrowService borrowService;
+
+
+    @PostMapping
+    @Operation(summary = "Create a new branch")
+    public ResponseEntity<BranchResponseDto> create(
+            @RequestBody @Valid BranchRequestDto dto
+    ) {
+        Branch branch = new Branch();
+        branch.setName(dto.name());
+
+        return new ResponseEntity<>(toDto(branchService.create(branch)), HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all branches")
+    public ResponseEntity<List<BranchResponseDto>> getAll() {
+        return ResponseEntity.ok(branchService.findAll().stream()
+                .map(this::toDto)
+                .toList());
+    }
+
+    @PutMapping("/{branchId}/stock/{bookId}")
+    @Operation(summary = "Set the copies of a book a branch owns; copies on loan can't be removed")
+    public ResponseEntity<BranchStockDto> setCopies(
+            @PathVariable Long branchId,
+            @PathVariable Long bookId,
+            @RequestBody @Valid BranchStockRequestDto dto
+    ) {
+        BranchStock stock = branchService.setCopies(branchId, bookId, dto.copies());
+
+        return ResponseEntity.ok(new BranchStockDto(stock.getBranchId(), stock.getBookId(),
+                stock.getAmount(), stock.getTotalCopies()));
+    }
+
+    @GetMapping("/{branchId}/availability")
+    @Operation(summary = "Get copies on the shelf of several books at one branch, e.g. ids=1,2,3")
+    public ResponseEntity<MultiGetResponseDto<BranchAvailabilityDto>> getAvailability(
+            @PathVariable Long branchId,
+            @RequestParam List<Long> ids
+    ) {
+        Map<Long, BranchAvailabilityDto> found = branchService.findAvailabilityById(branchId, ids);
+
+        return ResponseEntity.ok(new MultiGetResponseDto<>(
+                List.copyOf(found.values()),
+                ids.stream().distinct().filter(id -> !found.containsKey(id)).toList()
+        ));
+    }
+
+    @GetMapping("/availability")
+    @Operation(summary = "Get the branches with copies on the shelf of several books, e.g. ids=1,2,3")
+    public ResponseEntity<List<CrossBranchAvailabilityDto>> getAvailabilityAcrossBranches(
+            @RequestParam List<Long> ids
+    ) {
+        return ResponseEntity.ok(branchService.findAvailabilityAcrossBranches(ids).entrySet().stream()
+                .map(entry -> new CrossBranchAvailabilityDto(
+                        entry.getKey(),
+                        entry.getValue().stream().mapToInt(BranchAvailabilityDto::amount).sum(),
+                        entry.getValue()
+                ))
+                .toList());
+    }
+
+    @PostMapping("/{branchId}/borrows")
+    @Operation(summary = "Borrow a book from a branch's copies")
+    public ResponseEntity<BorrowResponseDto> borrowBook(
+            @PathVariable Long branchId,
+            @RequestBody @Valid BorrowRequestDto dto
+    ) {
+        Borrow borrow = borrowService.borrowBook(dto.memberId(), dto.bookId(), branchId);
+
+        return new ResponseEntity<>(new BorrowResponseDto(
+                borrow.getId(),
+                borrow.getBook().getId(),
+                borrow.getMember().getId(),
+                borrow.getBorrowDate(),
+                borrow.getDueDate(),
+                borrow.getReturnDate(),
+                borrow.isReturned()
+        ), HttpStatus.CREATED);
+    }
+
+    private BranchResponseDto toDto(Branch branch) {
+        return new BranchResponseDto(branch.getId(), branch.getName());
+    }
+}
@@ -0,0 +1,32 @@
+package com.shadoww.library.controller;
+
+import com.shadoww.library.dto.ChangePageDto;
+import com.shadoww.library.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+
+    @GetMapping
+    @Operation(summary = "Get changes after the given sequence number; with waitMs > 0 the call blocks until a change arrives or the wait ends")
+    public CompletableFuture<ChangePageDto> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        return changeFeedService.awaitChanges(since, limit, Duration.ofMillis(waitMs));
+    }
+}
@@ -1,9 +1,14 @@
 package com.shadoww.library.controller;
 
 
+import com.shadoww.library.dto.IdsRequestDto;
+import com.shadoww.library.dto.ImportReportDto;
 import com.shadoww.library.dto.MemberRequestDto;
 import com.shadoww.library.dto.MemberResponseDto;
+import com.shadoww.library.dto.MultiGetResponseDto;
 import com.shadoww.library.model.Member;
+import com.shadoww.library.service.ImportFormat;
+import com.shadoww.library.service.ImportService;
 import com.shadoww.library.service.MemberService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -11,7 +16,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
@@ -21,6 +28,7 @@ import static java.util.stream.Collectors.toList;
 public class MemberController {
 
     private final MemberService memberService;
+    private final ImportService importService;
 
     @PostMapping
     @Operation(summary = "Create new member")
@@ -39,6 +47,22 @@ public class MemberController {
                 .collect(toList());
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several members by ID in one round trip, e.g. ids=1,2,3")
+    public MultiGetResponseDto<MemberResponseDto> getByIds(
+            @RequestParam List<Long> ids
+    ) {
+        return toMultiGet(ids, memberService.findAllById(ids));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get several members by ID in one round trip, for id lists too long for a query string")
+    public MultiGetResponseDto<MemberResponseDto> lookup(
+            @RequestBody @Valid IdsRequestDto dto
+    ) {
+        return toMultiGet(dto.ids(), memberService.findAllById(dto.ids()));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get member by ID")
     public ResponseEntity<MemberResponseDto> getById(
@@ -67,6 +91,15 @@ public class MemberController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV, ImportFormat.APPLICATION_NDJSON})
+    @Operation(summary = "Bulk import members from streamed CSV (name) or NDJSON")
+    public ResponseEntity<ImportReportDto> importAll(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        return ResponseEntity.ok(importService.importMembers(body, ImportFormat.of(contentType)));
+    }
+
     // methods for converting from DTO to Entity and vice versa
 
     private Member toEntity(MemberRequestDto dto) {
@@ -76,6 +109,13 @@ public class MemberController {
         return member;
     }
 
+    private MultiGetResponseDto<MemberResponseDto> toMultiGet(List<Long> ids, Map<Long, Member> found) {
+        return new MultiGetResponseDto<>(
+                found.values().stream().map(this::toDto).toList(),
+                ids.stream().distinct().filter(id -> !found.containsKey(id)).toList()
+        );
+    }
+
     private MemberResponseDto toDto(Member member) {
         return new MemberResponseDto(
                 member.getId(),
@@ -0,0 +1,61 @@
+package com.shadoww.library.controller;
+
+import com.shadoww.library.dto.ReportJobDto;
+import com.shadoww.library.dto.ReportRequestDto;
+import com.shadoww.library.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+
+    @PostMapping
+    @Operation(summary = "Submit a report job, poll it by the returned ID")
+    public ResponseEntity<ReportJobDto> submit(
+            @RequestBody @Valid ReportRequestDto dto
+    ) {
+        ReportJobDto job = reportService.submit(dto.type(), dto.memberName());
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.id()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the status of a report job")
+    public ResponseEntity<ReportJobDto> getJob(
+            @PathVariable UUID id
+    ) {
+        return ResponseEntity.ok(reportService.getJob(id));
+    }
+
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Get the result of a finished report job, or 202 with its status while it runs")
+    public ResponseEntity<?> getResult(
+            @PathVariable UUID id
+    ) {
+        return reportService.getResult(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>(reportService.getJob(id), HttpStatus.ACCEPTED));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a queued or running report job")
+    public ResponseEntity<ReportJobDto> cancel(
+            @PathVariable UUID id
+    ) {
+        return ResponseEntity.ok(reportService.cancel(id));
+    }
+}
@@ -0,0 +1,56 @@
+package com.shadoww.library.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica once it has applied the calling thread's last
+ * committed write, and everything else to the primary. Writes of other threads don't hold a
+ * caller's reads back. Must sit behind a LazyConnectionDataSourceProxy so the route is picked
+ * after the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaSynchronizer replicaSynchronizer;
+
+    // primary version of the calling thread's last committed write, 0 before any
+    private final ThreadLocal<Long> lastWriteVersion = ThreadLocal.withInitial(() -> 0L);
+
+    public ReadWriteRoutingDataSource(ReplicaSynchronizer replicaSynchronizer) {
+        this.replicaSynchronizer = replicaSynchronizer;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // read-your-writes: a replica lagging behind this caller's writes hands its reads back to the primary
+            return replicaSynchronizer.hasApplied(lastWriteVersion.get()) ? Route.REPLICA : Route.PRIMARY;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !isWriteRegistered()) {
+            TransactionSynchronizationManager.registerSynchronization(new WriteCommitSynchronization(replicaSynchronizer, lastWriteVersion));
+        }
+
+        return Route.PRIMARY;
+    }
+
+    private static boolean isWriteRegistered() {
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(WriteCommitSynchronization.class::isInstance);
+    }
+
+    private record WriteCommitSynchronization(ReplicaSynchronizer replicaSynchronizer, ThreadLocal<Long> lastWriteVersion)
+            implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            lastWriteVersion.set(replicaSynchronizer.recordWrite());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.shadoww.library.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for database replication between two local H2 instances. Every committed write bumps
+ * the primary version; after the configured lag a single thread copies a consistent snapshot of
+ * all tables into the replica in one transaction and records the version it covers.
+ */
+@Slf4j
+public class ReplicaSynchronizer implements DisposableBean {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long lagMs;
+
+    private final AtomicLong primaryVersion = new AtomicLong();
+    private final AtomicBoolean syncScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replicator-"));
+
+    private volatile long replicaVersion = -1;
+    private boolean schemaCreated;
+
+    public ReplicaSynchronizer(DataSource primary, DataSource replica, long lagMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMs = lagMs;
+    }
+
+    public boolean isCaughtUp() {
+        return hasApplied(primaryVersion.get());
+    }
+
+    /**
+     * Whether the replica holds every write up to the given primary version.
+     */
+    public boolean hasApplied(long version) {
+        return replicaVersion >= version;
+    }
+
+    /**
+     * Records a committed write and returns the primary version that covers it.
+     */
+    public long recordWrite() {
+        long version = primaryVersion.incrementAndGet();
+        requestSync();
+        return version;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void requestSync() {
+        if (syncScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::sync, lagMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void sync() {
+        syncScheduled.set(false);
+        long version = primaryVersion.get();
+
+        try {
+            copy();
+            replicaVersion = version;
+        } catch (SQLException ex) {
+            log.warn("Replica sync failed, retrying", ex);
+            requestSync();
+        }
+    }
+
+    private void copy() throws SQLException {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+
+            if (!schemaCreated) {
+                createSchema(source, target);
+                schemaCreated = true;
+            }
+
+            try {
+                for (String table : tables(source)) {
+                    copyTable(source, target, table);
+                }
+                target.commit();
+            } catch (SQLException ex) {
+                target.rollback();
+                throw ex;
+            } finally {
+                source.rollback();
+            }
+        }
+    }
+
+    // replica gets tables and indexes but no foreign keys, so tables can be refilled in any order
+
+    private void createSchema(Connection source, Connection target) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement script = source.createStatement(); ResultSet rows = script.executeQuery("SCRIPT NODATA")) {
+            while (rows.next()) {
+                String sql = rows.getString(1);
+                if (!sql.startsWith("--") && !sql.contains("FOREIGN KEY")) {
+                    statements.add(sql);
+                }
+            }
+        }
+
+        try (Statement ddl = target.createStatement()) {
+            for (String sql : statements) {
+                ddl.execute(sql);
+            }
+        }
+        target.commit();
+    }
+
+    private List<String> tables(Connection source) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement query = source.createStatement();
+             ResultSet rows = query.executeQuery("""
+                     SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES
+                     WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'
+                     """)) {
+            while (rows.next()) {
+                tables.add(rows.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("DELETE FROM \"" + table + "\"");
+        }
+
+        try (Statement select = source.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM \"" + table + "\"")) {
+            ResultSetMetaData meta = rows.getMetaData();
+            int columns = meta.getColumnCount();
+
+            List<String> names = new ArrayList<>(columns);
+            for (int i = 1; i <= columns; i++) {
+                names.add('"' + meta.getColumnName(i) + '"');
+            }
+
+            String insert = "INSERT INTO \"" + table + "\" (" + String.join(", ", names) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+
+            try (PreparedStatement batch = target.prepareStatement(insert)) {
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        batch.setObject(i, rows.getObject(i));
+                    }
+                    batch.addBatch();
+                }
+                batch.executeBatch();
+            }
+        }
+    }
+}
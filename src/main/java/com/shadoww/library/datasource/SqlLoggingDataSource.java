@@ -0,0 +1,165 @@
+package com.shadoww.library.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Replaces show-sql in production: times every statement and logs only those slower than
+ * the threshold, plus a random sample of the rest, together with their bind values.
+ * Statements that are neither slow nor sampled cost two nanoTime calls and a map of binds;
+ * a batch is logged with its row count and the binds of its first row.
+ */
+@Slf4j
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+
+    private final Counter executed;
+    private final Counter loggedSlow;
+    private final Counter loggedSampled;
+
+    public SqlLoggingDataSource(DataSource target, long thresholdMs, double sampleRate, MeterRegistry meterRegistry) {
+        super(target);
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.executed = meterRegistry.counter("library.sql.statements");
+        this.loggedSlow = meterRegistry.counter("library.sql.logged", "reason", "slow");
+        this.loggedSampled = meterRegistry.counter("library.sql.logged", "reason", "sampled");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private void record(String sql, Object binds, long elapsedNanos) {
+        executed.increment();
+
+        if (elapsedNanos >= thresholdNanos) {
+            loggedSlow.increment();
+            log.warn("Slow SQL ({} ms): {} binds={}", elapsedNanos / 1_000_000, sql, binds);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            loggedSampled.increment();
+            log.info("Sampled SQL ({} ms): {} binds={}", elapsedNanos / 1_000_000, sql, binds);
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlLoggingDataSource.invoke(target, method, args);
+
+            return switch (method.getName()) {
+                case "prepareStatement" -> Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class}, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> Proxy.newProxyInstance(CallableStatement.class.getClassLoader(),
+                        new Class<?>[]{CallableStatement.class}, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                        new Class<?>[]{Statement.class}, new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+
+        // binds are reset per batch row, so a batch keeps its first row's and a row count
+        private Map<Integer, Object> firstBatchRow;
+        private int batchRows;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.equals("setNull") && args[0] instanceof Integer index) {
+                binds.put(index, null);
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds.put(index, args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("addBatch")) {
+                if (batchRows++ == 0) {
+                    firstBatchRow = new TreeMap<>(binds);
+                }
+            } else if (name.equals("clearBatch")) {
+                clearBatch();
+            }
+
+            if (!name.startsWith("execute")) {
+                return SqlLoggingDataSource.invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            boolean batch = name.equals("executeBatch") || name.equals("executeLargeBatch");
+
+            long start = System.nanoTime();
+            try {
+                return SqlLoggingDataSource.invoke(target, method, args);
+            } finally {
+                long elapsedNanos = System.nanoTime() - start;
+                if (batch) {
+                    record(sql, batchRows + " rows, first " + firstBatchRow, elapsedNanos);
+                    clearBatch();
+                } else {
+                    record(sql, binds, elapsedNanos);
+                }
+            }
+        }
+
+        private void clearBatch() {
+            firstBatchRow = null;
+            batchRows = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.shadoww.library.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Starts the request deadline: the client's X-Request-Timeout-Ms header capped at
+ * deadline.max-ms, else the first deadline.endpoints pattern matching the path,
+ * else deadline.default-ms.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Value("${deadline.default-ms}")
+    private long defaultMs;
+
+    @Value("${deadline.max-ms}")
+    private long maxMs;
+
+    @Value("#{${deadline.endpoints}}")
+    private Map<String, Long> endpoints;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline.start(budgetFor(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    long budgetFor(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            try {
+                return Math.max(1, Math.min(Long.parseLong(header.trim()), maxMs));
+            } catch (NumberFormatException ignored) {
+                // fall back to the configured budget
+            }
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return endpoints.entrySet().stream()
+                .filter(entry -> pathMatcher.match(entry.getKey(), path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(defaultMs);
+    }
+}
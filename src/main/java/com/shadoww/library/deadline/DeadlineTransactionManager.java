@@ -0,0 +1,69 @@
+package com.shadoww.library.deadline;
+
+import com.shadoww.library.exception.DeadlineExceededException;
+import com.shadoww.library.resilience.DatabaseCircuitBreaker;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caps every transaction started on a request thread at the request's remaining budget.
+ * Spring turns that into the JPA query timeout hint and the JDBC statement timeout, and
+ * Hibernate into its own transaction timeout, so a stalled database frees the thread
+ * when the deadline passes instead of holding it indefinitely. Begins go through the
+ * {@link DatabaseCircuitBreaker}, so while it is open no transaction waits for a connection.
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public DeadlineTransactionManager(EntityManagerFactory entityManagerFactory, DatabaseCircuitBreaker circuitBreaker) {
+        super(entityManagerFactory);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+
+        Long remaining = RequestDeadline.remainingMillis();
+        if (remaining == null) {
+            return configured;
+        }
+
+        // transaction timeouts are whole seconds; doBegin narrows the holders to the millisecond
+        int budgetSeconds = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (remaining + 999) / 1000));
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? budgetSeconds : Math.min(configured, budgetSeconds);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Long remaining = RequestDeadline.remainingMillis();
+        if (remaining != null && remaining <= 0) {
+            throw new DeadlineExceededException();
+        }
+
+        circuitBreaker.guard(() -> {
+            super.doBegin(transaction, definition);
+            return null;
+        });
+
+        remaining = RequestDeadline.remainingMillis();
+        if (remaining == null) {
+            return;
+        }
+
+        narrow(TransactionSynchronizationManager.getResource(obtainEntityManagerFactory()), remaining);
+        if (getDataSource() != null) {
+            narrow(TransactionSynchronizationManager.getResource(getDataSource()), remaining);
+        }
+    }
+
+    private void narrow(Object resource, long remainingMs) {
+        if (resource instanceof ResourceHolderSupport holder) {
+            holder.setTimeoutInMillis(Math.max(1, remainingMs));
+        }
+    }
+}
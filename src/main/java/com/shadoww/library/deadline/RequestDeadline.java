@@ -0,0 +1,29 @@
+package com.shadoww.library.deadline;
+
+/**
+ * Time budget of the request being served on the current thread, set by {@link DeadlineFilter}.
+ * Threads that do not serve a request (schedulers, report workers) have no deadline.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> expiresAtNanos = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long budgetMs) {
+        expiresAtNanos.set(System.nanoTime() + budgetMs * 1_000_000);
+    }
+
+    public static void clear() {
+        expiresAtNanos.remove();
+    }
+
+    /**
+     * Milliseconds left, possibly zero or negative once expired, or null when no deadline is set.
+     */
+    public static Long remainingMillis() {
+        Long expiresAt = expiresAtNanos.get();
+        return expiresAt == null ? null : (expiresAt - System.nanoTime()) / 1_000_000;
+    }
+}
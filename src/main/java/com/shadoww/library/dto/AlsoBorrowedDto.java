@@ -0,0 +1,7 @@
+package com.shadoww.library.dto;
+
+public record AlsoBorrowedDto(
+        Long bookId,
+        long count // members who borrowed both books, possibly overestimated, see CoBorrowIndex
+) {
+}
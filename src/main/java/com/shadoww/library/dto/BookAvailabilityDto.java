@@ -0,0 +1,8 @@
+package com.shadoww.library.dto;
+
+public record BookAvailabilityDto(
+        Long bookId,
+        int amount,
+        boolean available
+) {
+}
@@ -8,6 +8,7 @@ public record BorrowResponseDto(
         Long memberId,
 
         LocalDateTime borrowDate,
+        LocalDateTime dueDate,
         LocalDateTime returnDate,
 
         boolean returned
@@ -0,0 +1,8 @@
+package com.shadoww.library.dto;
+
+public record BranchAvailabilityDto(
+        Long branchId,
+        Long bookId,
+        int amount
+) {
+}
@@ -0,0 +1,8 @@
+package com.shadoww.library.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record BranchRequestDto(
+        @NotBlank(message = "Name is required")
+        String name
+) {}
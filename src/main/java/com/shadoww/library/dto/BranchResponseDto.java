@@ -0,0 +1,7 @@
+package com.shadoww.library.dto;
+
+public record BranchResponseDto(
+        Long id,
+        String name
+) {
+}
@@ -0,0 +1,9 @@
+package com.shadoww.library.dto;
+
+public record BranchStockDto(
+        Long branchId,
+        Long bookId,
+        int amount,
+        int totalCopies
+) {
+}
@@ -0,0 +1,8 @@
+package com.shadoww.library.dto;
+
+import jakarta.validation.constraints.Min;
+
+public record BranchStockRequestDto(
+        @Min(value = 0, message = "Copies must be 0 or greater")
+        int copies
+) {}
@@ -0,0 +1,15 @@
+package com.shadoww.library.dto;
+
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.model.ChangeOperation;
+
+import java.time.LocalDateTime;
+
+public record ChangeDto(
+        long seq,
+        ChangeEntityType entityType,
+        Long entityId,
+        ChangeOperation operation,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.shadoww.library.dto;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. Pass {@code nextSince} as {@code since} on the next call;
+ * {@code hasMore} means another page is already available.
+ */
+public record ChangePageDto(
+        List<ChangeDto> changes,
+        long nextSince,
+        boolean hasMore
+) {
+}
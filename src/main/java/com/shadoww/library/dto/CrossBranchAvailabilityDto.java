@@ -0,0 +1,10 @@
+package com.shadoww.library.dto;
+
+import java.util.List;
+
+public record CrossBranchAvailabilityDto(
+        Long bookId,
+        int available, // on the shelf across all branches
+        List<BranchAvailabilityDto> branches // only branches with a copy on the shelf
+) {
+}
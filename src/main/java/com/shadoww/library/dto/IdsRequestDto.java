@@ -0,0 +1,11 @@
+package com.shadoww.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record IdsRequestDto(
+        @NotEmpty(message = "Ids are required")
+        List<@NotNull(message = "Id cannot be null") Long> ids
+) {}
@@ -0,0 +1,7 @@
+package com.shadoww.library.dto;
+
+public record ImportErrorDto(
+        long line,
+        String message
+) {
+}
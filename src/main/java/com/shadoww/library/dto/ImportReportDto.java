@@ -0,0 +1,12 @@
+package com.shadoww.library.dto;
+
+import java.util.List;
+
+public record ImportReportDto(
+        long rowsRead,
+        long rowsApplied,
+        long rowsRejected,
+        List<ImportErrorDto> errors,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,14 @@
+package com.shadoww.library.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record InventoryAuditReportDto(
+        LocalDateTime finishedAt,
+        boolean fullScan,
+        long watermark,
+        int checkedBooks,
+        long durationMs,
+        List<InventoryCheckDto> discrepancies
+) {
+}
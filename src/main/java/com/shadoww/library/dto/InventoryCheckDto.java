@@ -0,0 +1,12 @@
+package com.shadoww.library.dto;
+
+public record InventoryCheckDto(
+        Long bookId,
+        int amount,
+        int totalCopies,
+        long openLoans
+) {
+    public boolean balanced() {
+        return amount + openLoans == totalCopies;
+    }
+}
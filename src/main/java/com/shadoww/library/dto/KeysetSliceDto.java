@@ -0,0 +1,17 @@
+package com.shadoww.library.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A page read by keyset. Pass {@code nextBeforeDate} and {@code nextBeforeId} back as
+ * {@code beforeDate} and {@code beforeId} to get the following page.
+ */
+public record KeysetSliceDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        LocalDateTime nextBeforeDate,
+        Long nextBeforeId
+) {
+}
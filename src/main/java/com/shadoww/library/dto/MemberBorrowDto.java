@@ -0,0 +1,15 @@
+package com.shadoww.library.dto;
+
+import java.time.LocalDateTime;
+
+public record MemberBorrowDto(
+        Long id,
+        Long bookId,
+        String bookTitle,
+        String bookAuthor,
+        LocalDateTime borrowDate,
+        LocalDateTime dueDate,
+        LocalDateTime returnDate,
+        boolean returned
+) {
+}
@@ -0,0 +1,9 @@
+package com.shadoww.library.dto;
+
+import java.util.List;
+
+public record MultiGetResponseDto<T>(
+        List<T> found, // in request order
+        List<Long> missing
+) {
+}
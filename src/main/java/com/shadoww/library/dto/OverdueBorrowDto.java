@@ -0,0 +1,11 @@
+package com.shadoww.library.dto;
+
+import java.time.LocalDateTime;
+
+public record OverdueBorrowDto(
+        Long id,
+        Long bookId,
+        Long memberId,
+        LocalDateTime dueDate
+) {
+}
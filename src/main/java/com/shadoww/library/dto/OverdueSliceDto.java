@@ -0,0 +1,17 @@
+package com.shadoww.library.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A page of overdue borrows read by keyset, oldest due first. Pass {@code nextAfterDueDate} and
+ * {@code nextAfterId} back as {@code afterDueDate} and {@code afterId} to get the following page.
+ */
+public record OverdueSliceDto<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        LocalDateTime nextAfterDueDate,
+        Long nextAfterId
+) {
+}
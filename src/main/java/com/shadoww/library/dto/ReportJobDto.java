@@ -0,0 +1,17 @@
+package com.shadoww.library.dto;
+
+import com.shadoww.library.service.ReportStatus;
+import com.shadoww.library.service.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReportJobDto(
+        UUID id,
+        ReportType type,
+        ReportStatus status,
+        LocalDateTime submittedAt,
+        LocalDateTime completedAt,
+        String error
+) {
+}
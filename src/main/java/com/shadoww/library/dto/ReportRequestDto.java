@@ -0,0 +1,11 @@
+package com.shadoww.library.dto;
+
+import com.shadoww.library.service.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+public record ReportRequestDto(
+        @NotNull(message = "Report type is required")
+        ReportType type,
+
+        String memberName // required for MEMBER_HISTORY
+) {}
@@ -0,0 +1,9 @@
+package com.shadoww.library.dto;
+
+public record TopBorrowedBookDto(
+        Long bookId,
+        String title,
+        long borrows,
+        long returns
+) {
+}
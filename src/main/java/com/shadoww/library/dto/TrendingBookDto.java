@@ -0,0 +1,8 @@
+package com.shadoww.library.dto;
+
+public record TrendingBookDto(
+        Long bookId,
+        String title, // from the catalog snapshot, null until the book is in it
+        double borrows // decayed borrow count, possibly overestimated, see TrendingSketch
+) {
+}
@@ -0,0 +1,19 @@
+package com.shadoww.library.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown for a {@link Rejection}. Carries no stack trace and no suppressed exceptions,
+ * so one shared instance per rejection is safe to throw from any thread:
+ * {@code throw Rejection.BOOK_NOT_AVAILABLE.getException();}
+ */
+@Getter
+public class BusinessRejectionException extends RuntimeException {
+
+    private final Rejection rejection;
+
+    BusinessRejectionException(Rejection rejection) {
+        super(rejection.getMessage(), null, false, false);
+        this.rejection = rejection;
+    }
+}
@@ -0,0 +1,18 @@
+package com.shadoww.library.exception;
+
+import lombok.Getter;
+
+/**
+ * The database circuit breaker is open, so the call was rejected without touching the database.
+ * Stackless: it is raised on every database call while the breaker is open.
+ */
+@Getter
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public DatabaseUnavailableException(long retryAfterSeconds) {
+        super("Database unavailable, try again later", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
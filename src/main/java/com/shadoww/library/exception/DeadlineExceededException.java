@@ -0,0 +1,12 @@
+package com.shadoww.library.exception;
+
+/**
+ * The request's deadline passed before its next transaction could start.
+ * Stackless: it is raised on every request while the database is stalled.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException() {
+        super("Request deadline exceeded", null, false, false);
+    }
+}
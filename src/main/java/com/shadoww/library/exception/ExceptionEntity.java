@@ -1,11 +1,26 @@
 package com.shadoww.library.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
+/**
+ * Error body of every failed request. {@code code} names the {@link Rejection} behind an
+ * expected business refusal and is left out for all other errors.
+ */
 public record ExceptionEntity(
         LocalDateTime timestamp,
         int status,
         String error,
-        String message
+        String message,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String code
 ) {
+
+    public ExceptionEntity(LocalDateTime timestamp, int status, String error, String message) {
+        this(timestamp, status, error, message, null);
+    }
+
+    public ExceptionEntity withTimestamp(LocalDateTime timestamp) {
+        return new ExceptionEntity(timestamp, status, error, message, code);
+    }
 }
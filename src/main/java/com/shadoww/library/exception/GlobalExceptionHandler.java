@@ -1,21 +1,54 @@
 package com.shadoww.library.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Counter expiredBeforeTransaction;
+    private final Counter expiredInTransaction;
+    private final Counter expiredInQuery;
+
+    // everything but the timestamp of a rejection body is fixed, so it is built once per rejection
+    private final Map<Rejection, ExceptionEntity> rejectionBodies = new EnumMap<>(Rejection.class);
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        expiredBeforeTransaction = meterRegistry.counter("library.deadline.expired", "stage", "begin");
+        expiredInTransaction = meterRegistry.counter("library.deadline.expired", "stage", "transaction");
+        expiredInQuery = meterRegistry.counter("library.deadline.expired", "stage", "query");
+
+        for (Rejection rejection : Rejection.values()) {
+            HttpStatus status = rejection.getStatus();
+            rejectionBodies.put(rejection, new ExceptionEntity(null, status.value(), status.getReasonPhrase(),
+                    rejection.getMessage(), rejection.name()));
+        }
+    }
+
+    @ExceptionHandler(BusinessRejectionException.class)
+    public ResponseEntity<ExceptionEntity> handleRejection(BusinessRejectionException ex) {
+        // the shared exception is thrown without a stack trace; the body keeps the usual schema and is negotiated
+        Rejection rejection = ex.getRejection();
+        return new ResponseEntity<>(rejectionBodies.get(rejection).withTimestamp(LocalDateTime.now()), rejection.getStatus());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new LinkedHashMap<>();
@@ -35,6 +68,11 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ExceptionEntity> handleIllegalArgument(IllegalArgumentException ex) {
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ExceptionEntity> handle(EntityNotFoundException ex) {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -45,6 +83,38 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ExceptionEntity> handleRejectedExecution(RejectedExecutionException ex) {
+        // each bounded queue rejects with its own client-facing message
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ExceptionEntity> handleDeadlineExceeded(DeadlineExceededException ex) {
+        expiredBeforeTransaction.increment();
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<ExceptionEntity> handleDatabaseUnavailable(DatabaseUnavailableException ex) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ExceptionEntity(LocalDateTime.now(), status.value(), status.getReasonPhrase(), ex.getMessage()));
+    }
+
+    @ExceptionHandler(TransactionTimedOutException.class)
+    public ResponseEntity<ExceptionEntity> handleTransactionTimedOut(TransactionTimedOutException ex) {
+        expiredInTransaction.increment();
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Request deadline exceeded");
+    }
+
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ExceptionEntity> handleQueryTimeout(RuntimeException ex) {
+        expiredInQuery.increment();
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Request deadline exceeded");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ExceptionEntity> handleException(Exception ex) {
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
@@ -0,0 +1,29 @@
+package com.shadoww.library.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Expected business outcomes that refuse a request, rendered as a regular {@link ExceptionEntity}
+ * whose {@code code} is the constant name.
+ * Each constant owns a single reusable exception.
+ */
+@Getter
+public enum Rejection {
+    BORROW_LIMIT_EXCEEDED(HttpStatus.CONFLICT, "Borrow limit exceeded"),
+    BOOK_NOT_AVAILABLE(HttpStatus.CONFLICT, "Book is not available"),
+    ALREADY_RETURNED(HttpStatus.CONFLICT, "Already returned"),
+    BOOK_BORROWED(HttpStatus.CONFLICT, "Cannot delete book that is currently borrowed"),
+    MEMBER_HAS_BORROWS(HttpStatus.CONFLICT, "Cannot delete member with borrowed books"),
+    COPIES_ON_LOAN(HttpStatus.CONFLICT, "Cannot remove copies that are on loan");
+
+    private final HttpStatus status;
+    private final String message;
+    private final BusinessRejectionException exception;
+
+    Rejection(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new BusinessRejectionException(this);
+    }
+}
@@ -0,0 +1,22 @@
+package com.shadoww.library.id;
+
+import java.util.Locale;
+
+public enum IdStrategy {
+    /**
+     * Database sequence read through the pooled-lo optimizer: one round trip per block of ids.
+     */
+    SEQUENCE,
+    /**
+     * Time-ordered 64-bit ids built in memory, no round trip at all.
+     */
+    TIME_ORDERED;
+
+    public static IdStrategy of(Object value) {
+        if (value == null) {
+            return SEQUENCE;
+        }
+
+        return valueOf(value.toString().trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,25 @@
+package com.shadoww.library.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated id with {@link LibraryIdGenerator}:
+ * {@code @Id @LibraryId(sequence = "book_seq") private Long id;}
+ */
+@IdGeneratorType(LibraryIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface LibraryId {
+
+    /**
+     * The entity's sequence, also read by bulk inserts with NEXT VALUE FOR.
+     */
+    String sequence();
+}
@@ -0,0 +1,69 @@
+package com.shadoww.library.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Id generator of the library entities, declared with {@link LibraryId} and picked by
+ * spring.jpa.properties.library.id.*:
+ * <ul>
+ *     <li>{@code strategy=sequence} - the entity's sequence with the pooled-lo optimizer,
+ *     one round trip per {@code block-size} ids. The sequence steps by the block size and each
+ *     value is the first id of its block, so rows inserted with NEXT VALUE FOR outside
+ *     Hibernate never collide with a block.</li>
+ *     <li>{@code strategy=time-ordered} - {@link TimeOrderedIds} for {@code node-id}, no round trip.
+ *     The sequence is still created so bulk imports keep working.</li>
+ * </ul>
+ */
+public class LibraryIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY_SETTING = "library.id.strategy";
+    public static final String BLOCK_SIZE_SETTING = "library.id.block-size";
+    public static final String NODE_ID_SETTING = "library.id.node-id";
+
+    private final String sequenceName;
+
+    private IdStrategy strategy;
+    private TimeOrderedIds timeOrderedIds;
+
+    public LibraryIdGenerator(LibraryId config) {
+        this.sequenceName = config.sequence();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+
+        strategy = IdStrategy.of(settings.get(STRATEGY_SETTING));
+
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(setting(settings, BLOCK_SIZE_SETTING, 50)));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+
+        if (strategy == IdStrategy.TIME_ORDERED) {
+            timeOrderedIds = new TimeOrderedIds(setting(settings, NODE_ID_SETTING, 0));
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (strategy == IdStrategy.TIME_ORDERED) {
+            return timeOrderedIds.next();
+        }
+
+        return super.generate(session, object);
+    }
+
+    private static int setting(Map<String, Object> settings, String name, int defaultValue) {
+        Object value = settings.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value.toString().trim());
+    }
+}
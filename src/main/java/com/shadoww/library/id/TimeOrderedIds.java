@@ -0,0 +1,41 @@
+package com.shadoww.library.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 64-bit ids laid out as 41 bits of milliseconds since 2024-01-01, 10 bits of node id and
+ * 12 bits of per-millisecond sequence, so they sort by creation time and stay positive
+ * until 2093. When more than 4096 ids are taken in one millisecond, or the clock steps back,
+ * the generator runs ahead of the clock instead of blocking or repeating an id.
+ */
+public class TimeOrderedIds {
+
+    static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+
+    // (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedIds(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE);
+        }
+
+        this.node = node;
+    }
+
+    public long next() {
+        long now = (System.currentTimeMillis() - EPOCH_MS) << SEQUENCE_BITS;
+        long state = last.updateAndGet(previous -> Math.max(previous + 1, now));
+
+        return ((state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (node << SEQUENCE_BITS)
+                | (state & SEQUENCE_MASK);
+    }
+}
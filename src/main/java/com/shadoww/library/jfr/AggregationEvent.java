@@ -0,0 +1,15 @@
+package com.shadoww.library.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.shadoww.library.Aggregation")
+@Label("Aggregation Query")
+public class AggregationEvent extends LibraryEvent {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Result Rows")
+    public int resultRows;
+}
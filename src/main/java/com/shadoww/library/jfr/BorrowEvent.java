@@ -0,0 +1,26 @@
+package com.shadoww.library.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.shadoww.library.Borrow")
+@Label("Borrow")
+@Description("A book borrowed by a member; in a group commit batch DB time is the whole batch's")
+public class BorrowEvent extends LibraryEvent {
+
+    @Label("Member Id")
+    public long memberId;
+
+    @Label("Book Id")
+    public long bookId;
+
+    @Label("Title")
+    public String title;
+
+    @Label("Borrow Id")
+    public long borrowId;
+
+    @Label("Batch Size")
+    public int batchSize = 1;
+}
@@ -0,0 +1,18 @@
+package com.shadoww.library.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.shadoww.library.CreateOrIncrement")
+@Label("Create Or Increment Book")
+public class CatalogEvent extends LibraryEvent {
+
+    @Label("Book Id")
+    public long bookId;
+
+    @Label("Title")
+    public String title;
+
+    @Label("Created")
+    public boolean created;
+}
@@ -0,0 +1,54 @@
+package com.shadoww.library.jfr;
+
+/**
+ * JDBC time and statement count of the current thread while an event is open; fed by
+ * {@link JdbcTimingListener}. Scopes nest, an inner scope's time also counts for the outer one.
+ */
+public final class DbTime {
+
+    private static final ThreadLocal<DbTime> current = new ThreadLocal<>();
+
+    private final DbTime outer;
+    private long nanos;
+    private int statements;
+
+    private DbTime(DbTime outer) {
+        this.outer = outer;
+    }
+
+    public static DbTime open() {
+        DbTime scope = new DbTime(current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    static boolean active() {
+        return current.get() != null;
+    }
+
+    static void record(long elapsedNanos) {
+        DbTime scope = current.get();
+        if (scope != null) {
+            scope.nanos += elapsedNanos;
+            scope.statements++;
+        }
+    }
+
+    public void close() {
+        if (outer == null) {
+            current.remove();
+        } else {
+            outer.nanos += nanos;
+            outer.statements += statements;
+            current.set(outer);
+        }
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+}
@@ -0,0 +1,44 @@
+package com.shadoww.library.jfr;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered on every session through {@code hibernate.session.events.auto}; times statements
+ * and batches only while a {@link DbTime} scope is open on the thread, so it costs one
+ * thread-local read per statement otherwise.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        end();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        end();
+    }
+
+    private void start() {
+        startedAt = DbTime.active() ? System.nanoTime() : 0;
+    }
+
+    private void end() {
+        if (startedAt != 0) {
+            DbTime.record(System.nanoTime() - startedAt);
+            startedAt = 0;
+        }
+    }
+}
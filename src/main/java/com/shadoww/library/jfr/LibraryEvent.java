@@ -0,0 +1,111 @@
+package com.shadoww.library.jfr;
+
+import com.shadoww.library.exception.BusinessRejectionException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.util.function.Supplier;
+
+/**
+ * Fields and timing shared by the library's JFR events. While no recording enables the event,
+ * {@link #start()} and {@link #finish} do nothing beyond an enabled check. DB time covers the
+ * statements run until {@link #finish}, not the commit that follows.
+ */
+@Category("Library")
+@StackTrace(false)
+public abstract class LibraryEvent extends Event {
+
+    @Label("Outcome")
+    @Description("OK, the rejection code or the exception type")
+    public String outcome;
+
+    @Label("DB Time")
+    @Timespan
+    public long dbTime;
+
+    @Label("Statements")
+    public int statements;
+
+    @Label("Rows Touched")
+    @Description("Rows read, locked or written by the operation")
+    public long rowsTouched;
+
+    public static final String OK = "OK";
+
+    private transient DbTime scope;
+
+    public static long id(Long id) {
+        return id == null ? 0 : id;
+    }
+
+    public void start() {
+        if (isEnabled()) {
+            begin();
+            scope = DbTime.open();
+        }
+    }
+
+    public void finish(String outcome) {
+        if (scope == null) {
+            return;
+        }
+
+        scope.close();
+        dbTime = scope.nanos();
+        statements = scope.statements();
+        this.outcome = outcome;
+        scope = null;
+        commit();
+    }
+
+    /**
+     * Runs the work as this event: OK when it returns, the outcome of its exception when it throws.
+     */
+    public <T> T run(Supplier<T> work) {
+        start();
+
+        try {
+            T result = work.get();
+            finish(OK);
+            return result;
+        } catch (RuntimeException ex) {
+            fail(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * True between {@link #start()} and {@link #finish} of an enabled event; guards fields that are costly to fill.
+     */
+    public boolean recording() {
+        return scope != null;
+    }
+
+    public void fail(RuntimeException ex) {
+        finish(outcomeOf(ex));
+    }
+
+    /**
+     * Ends an event whose work ran as part of a batch, reporting the batch's DB time.
+     */
+    public void finishInBatch(RuntimeException error, DbTime batch) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        dbTime = batch.nanos();
+        statements = batch.statements();
+        outcome = error == null ? OK : outcomeOf(error);
+        commit();
+    }
+
+    private static String outcomeOf(RuntimeException ex) {
+        return ex instanceof BusinessRejectionException rejection
+                ? rejection.getRejection().name()
+                : ex.getClass().getSimpleName();
+    }
+}
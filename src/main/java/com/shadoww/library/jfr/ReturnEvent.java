@@ -0,0 +1,26 @@
+package com.shadoww.library.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.shadoww.library.Return")
+@Label("Return")
+@Description("A borrowed book given back; in a group commit batch DB time is the whole batch's")
+public class ReturnEvent extends LibraryEvent {
+
+    @Label("Borrow Id")
+    public long borrowId;
+
+    @Label("Member Id")
+    public long memberId;
+
+    @Label("Book Id")
+    public long bookId;
+
+    @Label("Title")
+    public String title;
+
+    @Label("Batch Size")
+    public int batchSize = 1;
+}
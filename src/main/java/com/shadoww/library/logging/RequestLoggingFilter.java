@@ -0,0 +1,74 @@
+package com.shadoww.library.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes one JSON line per request to the "library.request" logger, which the prod
+ * logback configuration routes to its own asynchronous appender with a bare message pattern.
+ */
+@Component
+@ConditionalOnProperty(name = "logging.request.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger requestLog = LoggerFactory.getLogger("library.request");
+
+    private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".start";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // long-polls come back through an async dispatch; time them from the original request
+        long start = request.getAttribute(START_ATTRIBUTE) instanceof Long started ? started : System.nanoTime();
+        request.setAttribute(START_ATTRIBUTE, start);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (requestLog.isInfoEnabled() && !isAsyncStarted(request)) {
+                requestLog.info(toJson(request, response, System.nanoTime() - start));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private String toJson(HttpServletRequest request, HttpServletResponse response, long elapsedNanos) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", Instant.now().toString());
+        line.put("method", request.getMethod());
+        line.put("path", request.getRequestURI());
+        line.put("query", request.getQueryString());
+        line.put("status", response.getStatus());
+        line.put("durationMs", elapsedNanos / 1_000_000.0);
+        line.put("thread", Thread.currentThread().getName());
+        line.put("remote", request.getRemoteAddr());
+
+        try {
+            return objectMapper.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            return "{\"path\":\"" + request.getRequestURI() + "\",\"error\":\"unserializable\"}";
+        }
+    }
+}
@@ -1,27 +1,31 @@
 package com.shadoww.library.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.shadoww.library.id.LibraryId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
+@Table(indexes = @Index(name = "idx_book_match_key", columnList = "title_key, author_key"))
 @NoArgsConstructor
 @Getter
 @Setter
 public class Book {
 
     @Id
-    @GeneratedValue
+    @LibraryId(sequence = "book_seq")
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -37,11 +41,35 @@ public class Book {
     )
     private String author;
 
+    // lower-cased title and author: case-insensitive matches, the bulk import MERGE among them,
+    // seek on idx_book_match_key instead of applying lower() to every row
+    @Column(name = "title_key")
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String titleKey;
+
+    @Column(name = "author_key")
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String authorKey;
+
     @Min(value = 0, message = "Amount must be 0 or greater")
     private int amount = 1;
 
+    // copies owned, whether on the shelf or on loan: amount + open borrows
+    @Min(value = 0, message = "Total copies must be 0 or greater")
+    @JsonIgnore
+    private int totalCopies;
+
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL)
     @ToString.Exclude
     @JsonIgnore
     private Set<Borrow> borrows = new HashSet<>();
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void updateMatchKeys() {
+        titleKey = title == null ? null : title.toLowerCase(Locale.ROOT);
+        authorKey = author == null ? null : author.toLowerCase(Locale.ROOT);
+    }
+}
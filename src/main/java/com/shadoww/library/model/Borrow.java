@@ -1,9 +1,11 @@
 package com.shadoww.library.model;
 
+import com.shadoww.library.id.LibraryId;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,12 +14,19 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_borrow_returned_due_date", columnList = "returned, due_date, id"),
+        @Index(name = "idx_borrow_returned_return_date", columnList = "returned, return_date"),
+        @Index(name = "idx_borrow_member_borrow_date", columnList = "member_id, borrow_date DESC, id DESC"),
+        @Index(name = "idx_borrow_book_returned", columnList = "book_id, returned"),
+        @Index(name = "idx_borrow_branch_book_returned", columnList = "branch_id, book_id, returned")
+})
 @NoArgsConstructor
 @Getter
 @Setter
 public class Borrow {
     @Id
-    @GeneratedValue
+    @LibraryId(sequence = "borrow_seq")
     private Long id;
 
     @ManyToOne(optional = false)
@@ -26,12 +35,16 @@ public class Borrow {
     @ManyToOne(optional = false)
     private Member member;
 
+    // branch the copy was lent from, null for the central stock on Book
+    private Long branchId;
+
     @CreationTimestamp
     private LocalDateTime borrowDate;
 
+    private LocalDateTime dueDate;
+
     private LocalDateTime returnDate;
 
     private boolean returned = false;
 
 }
-
@@ -0,0 +1,44 @@
+package com.shadoww.library.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Per-book, per-branch, per-day borrow and return counters, maintained in the same
+ * transaction as the borrow or return they count. Each branch counts in its own rows,
+ * so branches don't contend on a popular book's counter.
+ */
+@Entity
+@Table(name = "borrow_daily_stat", indexes = @Index(name = "idx_borrow_daily_stat_date", columnList = "stat_date, book_id"))
+@IdClass(BorrowDailyStatId.class)
+@NoArgsConstructor
+@Getter
+@Setter
+public class BorrowDailyStat {
+
+    /**
+     * Branch id of the counters of the central stock.
+     */
+    public static final long CENTRAL = 0;
+
+    @Id
+    private Long bookId;
+
+    @Id
+    private Long branchId;
+
+    @Id
+    private LocalDate statDate;
+
+    private long borrowCount;
+
+    private long returnCount;
+}
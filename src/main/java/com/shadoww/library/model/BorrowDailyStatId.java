@@ -0,0 +1,24 @@
+package com.shadoww.library.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@Setter
+public class BorrowDailyStatId implements Serializable {
+
+    private Long bookId;
+
+    private Long branchId;
+
+    private LocalDate statDate;
+}
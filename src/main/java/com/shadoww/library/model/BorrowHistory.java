@@ -0,0 +1,42 @@
+package com.shadoww.library.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Returned borrow moved out of the hot borrow table by the archiver.
+ * Keeps the original borrow id and a snapshot of the book so the row
+ * stays readable after the book itself is deleted.
+ */
+@Entity
+@Table(name = "borrow_history", indexes = @Index(name = "idx_borrow_history_member", columnList = "member_id, borrow_date DESC, id DESC"))
+@NoArgsConstructor
+@Getter
+@Setter
+public class BorrowHistory {
+    @Id
+    private Long id;
+
+    private Long bookId;
+
+    private String bookTitle;
+
+    private String bookAuthor;
+
+    private Long memberId;
+
+    private Long branchId;
+
+    private LocalDateTime borrowDate;
+
+    private LocalDateTime dueDate;
+
+    private LocalDateTime returnDate;
+}
@@ -0,0 +1,27 @@
+package com.shadoww.library.model;
+
+import com.shadoww.library.id.LibraryId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A physical library holding its own copies, see {@link BranchStock}.
+ */
+@Entity
+@NoArgsConstructor
+@Getter
+@Setter
+public class Branch {
+    @Id
+    @LibraryId(sequence = "branch_seq")
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    @NotBlank(message = "Name is required")
+    private String name;
+}
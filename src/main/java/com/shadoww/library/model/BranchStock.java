@@ -0,0 +1,41 @@
+package com.shadoww.library.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Copies of a book held by one branch. The key leads with the branch, so each branch's rows sit
+ * together in the primary key index and its borrows and returns lock only its own rows, never the
+ * book. {@link Book#getAmount()} stays the stock not assigned to any branch.
+ */
+@Entity
+@Table(name = "branch_stock", indexes = @Index(name = "idx_branch_stock_book", columnList = "book_id, branch_id, amount"))
+@IdClass(BranchStockId.class)
+@NoArgsConstructor
+@Getter
+@Setter
+public class BranchStock {
+    @Id
+    private Long branchId;
+
+    @Id
+    private Long bookId;
+
+    @Min(value = 0, message = "Amount must be 0 or greater")
+    private int amount;
+
+    // copies owned by the branch, whether on the shelf or on loan
+    @Min(value = 0, message = "Total copies must be 0 or greater")
+    private int totalCopies;
+
+    public BranchStockId key() {
+        return new BranchStockId(branchId, bookId);
+    }
+}
@@ -0,0 +1,21 @@
+package com.shadoww.library.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Getter
+@Setter
+public class BranchStockId implements Serializable {
+
+    private Long branchId;
+
+    private Long bookId;
+}
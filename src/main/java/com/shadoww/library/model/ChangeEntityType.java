@@ -0,0 +1,7 @@
+package com.shadoww.library.model;
+
+public enum ChangeEntityType {
+    BOOK,
+    MEMBER,
+    BORROW
+}
@@ -0,0 +1,42 @@
+package com.shadoww.library.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One mutation of a book, member or borrow. The seq is taken from change_log_seq
+ * inside the mutating transaction; entries may commit out of seq order, and readers
+ * stop at the watermark below which none is still pending.
+ */
+@Entity
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_id, seq"))
+@NoArgsConstructor
+@Getter
+@Setter
+public class ChangeLogEntry {
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeOperation operation;
+
+    private LocalDateTime changedAt;
+}
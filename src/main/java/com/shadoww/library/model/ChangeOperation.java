@@ -0,0 +1,6 @@
+package com.shadoww.library.model;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -1,7 +1,7 @@
 package com.shadoww.library.model;
 
+import com.shadoww.library.id.LibraryId;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 @Setter
 public class Member {
     @Id
-    @GeneratedValue
+    @LibraryId(sequence = "member_seq")
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -0,0 +1,8 @@
+package com.shadoww.library.repository;
+
+public record BookImportRow(
+        String title,
+        String author,
+        int copies
+) {
+}
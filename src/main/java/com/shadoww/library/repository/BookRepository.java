@@ -1,14 +1,55 @@
 package com.shadoww.library.repository;
 
+import com.shadoww.library.dto.BookAvailabilityDto;
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.InventoryCheckDto;
 import com.shadoww.library.model.Book;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
-    Optional<Book> findByTitleIgnoreCaseAndAuthorIgnoreCase(String title, String author);
+    @Query("select b from Book b where b.titleKey = lower(:title) and b.authorKey = lower(:author)")
+    Optional<Book> findByTitleIgnoreCaseAndAuthorIgnoreCase(@Param("title") String title, @Param("author") String author);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id in :ids order by b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select new com.shadoww.library.dto.BookAvailabilityDto(b.id, b.amount, case when b.amount > 0 then true else false end)
+            from Book b
+            where b.id in :ids
+            """)
+    List<BookAvailabilityDto> findAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.shadoww.library.dto.BookResponseDto(b.id, b.title, b.author, b.amount) from Book b order by b.id")
+    List<BookResponseDto> findAllResponses();
+
+    @Query("select b.id from Book b order by b.id")
+    List<Long> findAllIds();
+
+    // stock and open loans are read by one statement, so a concurrent borrow is seen on both sides or neither;
+    // the open loans are counted per book over idx_borrow_book_returned, central stock only
+    @Query("""
+            select new com.shadoww.library.dto.InventoryCheckDto(b.id, b.amount, b.totalCopies,
+                (select count(br.id) from Borrow br where br.book = b and br.returned = false and br.branchId is null))
+            from Book b
+            where b.id in :ids
+            """)
+    List<InventoryCheckDto> findInventoryByIdIn(@Param("ids") Collection<Long> ids);
 
 }
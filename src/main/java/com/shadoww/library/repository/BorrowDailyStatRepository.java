@@ -0,0 +1,48 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.dto.TopBorrowedBookDto;
+import com.shadoww.library.model.BorrowDailyStat;
+import com.shadoww.library.model.BorrowDailyStatId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BorrowDailyStatRepository extends JpaRepository<BorrowDailyStat, BorrowDailyStatId> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO borrow_daily_stat t
+            USING (SELECT CAST(:bookId AS BIGINT) AS book_id, CAST(:branchId AS BIGINT) AS branch_id,
+                          CAST(:statDate AS DATE) AS stat_date) s
+            ON t.book_id = s.book_id AND t.branch_id = s.branch_id AND t.stat_date = s.stat_date
+            WHEN MATCHED THEN
+                UPDATE SET borrow_count = t.borrow_count + :borrows, return_count = t.return_count + :returns
+            WHEN NOT MATCHED THEN
+                INSERT (book_id, branch_id, stat_date, borrow_count, return_count)
+                VALUES (s.book_id, s.branch_id, s.stat_date, :borrows, :returns)
+            """)
+    void increment(@Param("bookId") Long bookId,
+                   @Param("branchId") long branchId,
+                   @Param("statDate") LocalDate statDate,
+                   @Param("borrows") long borrows,
+                   @Param("returns") long returns);
+
+    // range scan over the (stat_date, book_id) index, proportional to the window only;
+    // a book's counters of every branch add up to its total
+
+    @Query("""
+            select new com.shadoww.library.dto.TopBorrowedBookDto(s.bookId, b.title, sum(s.borrowCount), sum(s.returnCount))
+            from BorrowDailyStat s join Book b on b.id = s.bookId
+            where s.statDate >= :from
+            group by s.bookId, b.title
+            order by sum(s.borrowCount) desc, s.bookId
+            """)
+    List<TopBorrowedBookDto> findTopBorrowedSince(@Param("from") LocalDate from, Pageable pageable);
+}
@@ -0,0 +1,57 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.model.BorrowHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BorrowHistoryRepository extends JpaRepository<BorrowHistory, Long> {
+
+    @Query("""
+            select h from BorrowHistory h
+            where h.memberId in (select m.id from Member m where lower(m.name) = lower(:name))
+            """)
+    List<BorrowHistory> findByMemberNameIgnoreCase(@Param("name") String name);
+
+    @Query("select h.bookId from BorrowHistory h where h.memberId = :memberId order by h.borrowDate desc, h.id desc")
+    List<Long> findRecentBookIdsByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    @Query("""
+            select h.memberId as memberId, h.bookId as bookId
+            from BorrowHistory h
+            where h.memberId in :memberIds
+            order by h.memberId, h.borrowDate desc, h.id desc
+            """)
+    List<MemberBookView> findMemberBooksByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    @Query("""
+            select h from BorrowHistory h
+            where h.memberId = :memberId
+              and h.borrowDate >= :from and h.borrowDate < :to
+              and (h.borrowDate < :beforeDate or (h.borrowDate = :beforeDate and h.id < :beforeId))
+            order by h.borrowDate desc, h.id desc
+            """)
+    List<BorrowHistory> findMemberHistoryPage(@Param("memberId") Long memberId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("beforeDate") LocalDateTime beforeDate,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable pageable);
+
+    @Modifying
+    @Query("""
+            insert into BorrowHistory (id, bookId, bookTitle, bookAuthor, memberId, branchId, borrowDate, dueDate, returnDate)
+            select b.id, b.book.id, b.book.title, b.book.author, b.member.id, b.branchId, b.borrowDate, b.dueDate, b.returnDate
+            from Borrow b
+            where b.id in :ids
+            """)
+    int copyFromBorrows(@Param("ids") List<Long> ids);
+}
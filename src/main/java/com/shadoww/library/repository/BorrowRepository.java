@@ -3,10 +3,19 @@ package com.shadoww.library.repository;
 import com.shadoww.library.model.Book;
 import com.shadoww.library.model.Borrow;
 import com.shadoww.library.model.Member;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BorrowRepository extends JpaRepository<Borrow, Long> {
@@ -19,4 +28,110 @@ public interface BorrowRepository extends JpaRepository<Borrow, Long> {
 
     List<Borrow> findByMember_NameIgnoreCase(String name);
 
-}
\ No newline at end of file
+    // overdue loans, served by the (returned, due_date, id) index
+
+    @Query("""
+            select b from Borrow b
+            where b.returned = false and b.dueDate < :now
+            order by b.dueDate, b.id
+            """)
+    List<Borrow> findFirstOverduePage(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("""
+            select b from Borrow b
+            where b.returned = false and b.dueDate < :now
+              and (b.dueDate > :afterDueDate or (b.dueDate = :afterDueDate and b.id > :afterId))
+            order by b.dueDate, b.id
+            """)
+    List<Borrow> findNextOverduePage(@Param("now") LocalDateTime now,
+                                     @Param("afterDueDate") LocalDateTime afterDueDate,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    @Query("""
+            select b.id as id, b.member.id as memberId, b.book.id as bookId, b.dueDate as dueDate
+            from Borrow b
+            where b.returned = false and b.dueDate < :now
+            order by b.dueDate, b.id
+            """)
+    List<OverdueBorrowView> findFirstOverdueChunk(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("""
+            select b.id as id, b.member.id as memberId, b.book.id as bookId, b.dueDate as dueDate
+            from Borrow b
+            where b.returned = false and b.dueDate < :now
+              and (b.dueDate > :lastDueDate or (b.dueDate = :lastDueDate and b.id > :lastId))
+            order by b.dueDate, b.id
+            """)
+    List<OverdueBorrowView> findNextOverdueChunk(@Param("now") LocalDateTime now,
+                                                 @Param("lastDueDate") LocalDateTime lastDueDate,
+                                                 @Param("lastId") Long lastId,
+                                                 Pageable pageable);
+
+    // archiving of returned borrows, served by the (returned, return_date) index
+
+    @Query("select b.id from Borrow b where b.returned = true and b.returnDate < :cutoff order by b.id")
+    List<Long> findReturnedIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Borrow b where b.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    // keyset page of a member's history, newest first, served by the (member_id, borrow_date, id) index
+
+    @Query("""
+            select b from Borrow b join fetch b.book
+            where b.member.id = :memberId
+              and b.borrowDate >= :from and b.borrowDate < :to
+              and (:activeOnly = false or b.returned = false)
+              and (b.borrowDate < :beforeDate or (b.borrowDate = :beforeDate and b.id < :beforeId))
+            order by b.borrowDate desc, b.id desc
+            """)
+    List<Borrow> findMemberHistoryPage(@Param("memberId") Long memberId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("activeOnly") boolean activeOnly,
+                                       @Param("beforeDate") LocalDateTime beforeDate,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    // a member's borrows, newest first, over the (member_id, borrow_date, id) index
+
+    @Query("select b.book.id from Borrow b where b.member.id = :memberId order by b.borrowDate desc, b.id desc")
+    List<Long> findRecentBookIdsByMemberId(@Param("memberId") Long memberId, Pageable pageable);
+
+    @Query("""
+            select b.member.id as memberId, b.book.id as bookId
+            from Borrow b
+            where b.member.id in :memberIds
+            order by b.member.id, b.borrowDate desc, b.id desc
+            """)
+    List<MemberBookView> findMemberBooksByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    @Query("select b.book.id as bookId, b.branchId as branchId from Borrow b where b.id = :id")
+    Optional<BorrowStockView> findStockById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Borrow b where b.id = :id")
+    Optional<Borrow> findByIdForUpdate(@Param("id") Long id);
+
+    // members currently holding the given books, over the (book_id, returned) index
+
+    @Query("select distinct b.member.id from Borrow b where b.book.id in :bookIds and b.returned = false")
+    List<Long> findOpenMemberIdsByBookIdIn(@Param("bookIds") Collection<Long> bookIds, Pageable pageable);
+
+    @Query("select distinct b.book.id as bookId, b.branchId as branchId from Borrow b where b.id in :ids")
+    List<BorrowStockView> findStocksByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Borrow b where b.id in :ids order by b.id")
+    List<Borrow> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select b.member.id as memberId, count(b.id) as openBorrows
+            from Borrow b
+            where b.member.id in :memberIds and b.returned = false
+            group by b.member.id
+            """)
+    List<OpenBorrowCountView> countOpenByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+}
@@ -0,0 +1,11 @@
+package com.shadoww.library.repository;
+
+/**
+ * The stock a borrow was lent from: a branch's, or the book's own when the branch is null.
+ */
+public interface BorrowStockView {
+
+    Long getBookId();
+
+    Long getBranchId();
+}
@@ -0,0 +1,11 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.model.Branch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BranchRepository extends JpaRepository<Branch, Long> {
+
+    boolean existsByNameIgnoreCase(String name);
+}
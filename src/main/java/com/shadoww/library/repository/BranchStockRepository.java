@@ -0,0 +1,57 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.dto.BranchAvailabilityDto;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.model.BranchStockId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BranchStockRepository extends JpaRepository<BranchStock, BranchStockId> {
+
+    // a branch's own rows, over the (branch_id, book_id) primary key
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BranchStock s where s.branchId = :branchId and s.bookId = :bookId")
+    Optional<BranchStock> findForUpdate(@Param("branchId") Long branchId, @Param("bookId") Long bookId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select s from BranchStock s
+            where s.branchId in :branchIds and s.bookId in :bookIds
+            order by s.branchId, s.bookId
+            """)
+    List<BranchStock> findAllForUpdate(@Param("branchIds") Collection<Long> branchIds,
+                                       @Param("bookIds") Collection<Long> bookIds);
+
+    @Query("""
+            select new com.shadoww.library.dto.BranchAvailabilityDto(s.branchId, s.bookId, s.amount)
+            from BranchStock s
+            where s.branchId = :branchId and s.bookId in :bookIds
+            """)
+    List<BranchAvailabilityDto> findAvailabilityByBranchIdAndBookIdIn(@Param("branchId") Long branchId,
+                                                                     @Param("bookIds") Collection<Long> bookIds);
+
+    // every branch with a copy on the shelf, over the covering (book_id, branch_id, amount) index
+
+    @Query("""
+            select new com.shadoww.library.dto.BranchAvailabilityDto(s.branchId, s.bookId, s.amount)
+            from BranchStock s
+            where s.bookId in :bookIds and s.amount > 0
+            order by s.bookId, s.branchId
+            """)
+    List<BranchAvailabilityDto> findAvailableByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Modifying
+    @Query("delete from BranchStock s where s.bookId = :bookId")
+    int deleteByBookId(@Param("bookId") Long bookId);
+}
@@ -0,0 +1,111 @@
+package com.shadoww.library.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Set-based writes for bulk imports, bypassing the persistence context.
+ * Each call is applied in its own transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogBulkRepository {
+
+    private static final String BOOK_ROW = "(CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS INT))";
+
+    // same case-insensitive (title, author) match as BookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase,
+    // over the match keys Book keeps, so each source row is one seek on idx_book_match_key
+    private static final String BOOK_UPSERT = """
+            MERGE INTO book t
+            USING (VALUES %s) AS s(title, author, copies)
+            ON t.title_key = lower(s.title) AND t.author_key = lower(s.author)
+            WHEN MATCHED THEN
+                UPDATE SET amount = t.amount + s.copies, total_copies = t.total_copies + s.copies
+            WHEN NOT MATCHED THEN
+                INSERT (id, title, author, title_key, author_key, amount, total_copies)
+                VALUES (NEXT VALUE FOR book_seq, s.title, s.author, lower(s.title), lower(s.author), s.copies, s.copies)
+            """;
+
+    private static final String BOOK_KEY = "(CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)))";
+
+    private static final String BOOK_IDS = """
+            SELECT t.id FROM book t
+            JOIN (VALUES %s) AS s(title, author)
+            ON t.title_key = lower(s.title) AND t.author_key = lower(s.author)
+            ORDER BY t.id
+            """;
+
+    // NEXT VALUE FOR is safe next to Hibernate only because LibraryIdGenerator reads these sequences
+    // with the pooled-lo optimizer: each value is the first id of a block, so a value taken here
+    // reserves a whole block Hibernate never hands out. The plain pooled optimizer treats each value
+    // as the last id of its block, which would collide.
+    private static final String MEMBER_IDS = "SELECT NEXT VALUE FOR member_seq FROM SYSTEM_RANGE(1, ?)";
+
+    private static final String MEMBER_INSERT = "INSERT INTO member (id, name, membership_date) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Upserts a chunk of books with one MERGE statement. Rows must already be
+     * de-duplicated by case-insensitive (title, author).
+     *
+     * @return ids of the books the chunk inserted or added copies to
+     */
+    @Transactional
+    public List<Long> upsertBooks(Collection<BookImportRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> args = new ArrayList<>(rows.size() * 3);
+        for (BookImportRow row : rows) {
+            args.add(row.title());
+            args.add(row.author());
+            args.add(row.copies());
+        }
+
+        String values = String.join(", ", Collections.nCopies(rows.size(), BOOK_ROW));
+        jdbcTemplate.update(BOOK_UPSERT.formatted(values), args.toArray());
+
+        List<Object> keys = new ArrayList<>(rows.size() * 2);
+        for (BookImportRow row : rows) {
+            keys.add(row.title());
+            keys.add(row.author());
+        }
+
+        String keyValues = String.join(", ", Collections.nCopies(rows.size(), BOOK_KEY));
+        return jdbcTemplate.queryForList(BOOK_IDS.formatted(keyValues), Long.class, keys.toArray());
+    }
+
+    /**
+     * Inserts a chunk of members, taking all their ids from the sequence in one query.
+     *
+     * @return ids of the inserted members, in the order of the names
+     */
+    @Transactional
+    public List<Long> insertMembers(List<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(MEMBER_IDS, Long.class, names.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batch = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            batch.add(new Object[]{ids.get(i), names.get(i), now});
+        }
+
+        jdbcTemplate.batchUpdate(MEMBER_INSERT, batch);
+        return ids;
+    }
+}
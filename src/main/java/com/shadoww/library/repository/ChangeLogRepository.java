@@ -0,0 +1,43 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("select max(e.seq) from ChangeLogEntry e")
+    Long findMaxSeq();
+
+    List<ChangeLogEntry> findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(long since, long upTo, Pageable pageable);
+
+    @Query("""
+            select distinct e.entityId from ChangeLogEntry e
+            where e.entityType = :type and e.seq > :after and e.seq <= :upTo
+            """)
+    List<Long> findChangedEntityIds(@Param("type") ChangeEntityType type,
+                                    @Param("after") long after,
+                                    @Param("upTo") long upTo);
+
+    // an entry is superseded once a later one exists for the same entity;
+    // consumers past it still get the later one, so dropping it loses nothing
+
+    @Modifying
+    @Query("""
+            delete from ChangeLogEntry e
+            where e.seq <= :upTo
+              and exists (
+                  select 1 from ChangeLogEntry n
+                  where n.entityType = e.entityType and n.entityId = e.entityId and n.seq > e.seq
+              )
+            """)
+    int deleteSupersededUpTo(@Param("upTo") long upTo);
+}
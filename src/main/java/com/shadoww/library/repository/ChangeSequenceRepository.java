@@ -0,0 +1,27 @@
+package com.shadoww.library.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The database sequence behind change_log.seq. Each value is the first seq of a block of
+ * {@code blockSize}, handed out in memory, so taking a seq neither locks a row nor waits for
+ * other writers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChangeSequenceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // created up front rather than on first write, so concurrent first writes can't race to create it
+    public void createIfMissing(long startWith, int blockSize) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS change_log_seq START WITH %d INCREMENT BY %d"
+                .formatted(startWith, blockSize));
+    }
+
+    public long nextBlock() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR change_log_seq", Long.class);
+    }
+}
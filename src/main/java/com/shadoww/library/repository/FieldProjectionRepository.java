@@ -0,0 +1,169 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.BorrowHistory;
+import com.shadoww.library.model.Member;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sparse fieldset queries: only the columns behind the requested response fields are selected,
+ * and each row comes back as a map holding just those fields, in response DTO order.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FieldProjectionRepository {
+
+    // response field -> entity path, in BookResponseDto order
+    private static final Map<String, String> BOOK_FIELDS = linked(
+            "id", "id",
+            "title", "title",
+            "author", "author",
+            "amount", "amount"
+    );
+
+    // response field -> entity path, in BorrowedBookDto order; a null path means the row is archived
+    private static final Map<String, String> BORROW_FIELDS = linked(
+            "bookTitle", "book.title",
+            "bookAuthor", "book.author",
+            "borrowDate", "borrowDate",
+            "returnDate", "returnDate",
+            "returned", "returned"
+    );
+
+    private static final Map<String, String> BORROW_HISTORY_FIELDS = linked(
+            "bookTitle", "bookTitle",
+            "bookAuthor", "bookAuthor",
+            "borrowDate", "borrowDate",
+            "returnDate", "returnDate",
+            "returned", null
+    );
+
+    private static final String SORT_FIELD = "borrowDate";
+
+    private final EntityManager entityManager;
+
+    public List<Map<String, Object>> findBooks(Collection<String> fields) {
+        return select(Book.class, BOOK_FIELDS, resolve(BOOK_FIELDS, fields), null);
+    }
+
+    /**
+     * Active and archived borrows of a member, oldest first. The borrow date is always
+     * fetched for ordering and dropped afterwards if it was not requested.
+     */
+    public List<Map<String, Object>> findBorrowsByMemberName(String name, Collection<String> fields) {
+        List<String> requested = resolve(BORROW_FIELDS, fields);
+
+        List<String> selected = new ArrayList<>(requested);
+        if (!selected.contains(SORT_FIELD)) {
+            selected.add(SORT_FIELD);
+        }
+
+        String lowered = name.toLowerCase(Locale.ROOT);
+
+        List<Map<String, Object>> rows = new ArrayList<>(select(Borrow.class, BORROW_FIELDS, selected,
+                (cb, query, root) -> cb.equal(cb.lower(root.get("member").<String>get("name")), lowered)));
+
+        rows.addAll(select(BorrowHistory.class, BORROW_HISTORY_FIELDS, selected, (cb, query, root) -> {
+            Subquery<Long> members = query.subquery(Long.class);
+            Root<Member> member = members.from(Member.class);
+            members.select(member.<Long>get("id")).where(cb.equal(cb.lower(member.<String>get("name")), lowered));
+
+            return root.get("memberId").in(members);
+        }));
+
+        rows.sort(Comparator.comparing((Map<String, Object> row) -> (LocalDateTime) row.get(SORT_FIELD),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        if (!requested.contains(SORT_FIELD)) {
+            rows.forEach(row -> row.remove(SORT_FIELD));
+        }
+
+        return rows;
+    }
+
+    private <T> List<Map<String, Object>> select(Class<T> entity,
+                                                 Map<String, String> paths,
+                                                 List<String> fields,
+                                                 Filter<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            String path = paths.get(field);
+            selections.add((path == null ? cb.literal(Boolean.TRUE) : path(root, path)).alias(field));
+        }
+        query.multiselect(selections);
+
+        if (filter != null) {
+            query.where(filter.apply(cb, query, root));
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<String> resolve(Map<String, String> known, Collection<String> fields) {
+        for (String field : fields) {
+            if (!known.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', expected any of " + known.keySet());
+            }
+        }
+
+        return known.keySet().stream()
+                .filter(fields::contains)
+                .toList();
+    }
+
+    private static Path<?> path(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String attribute : path.split("\\.")) {
+            current = current.get(attribute);
+        }
+        return current;
+    }
+
+    private static Map<String, String> linked(String... pairs) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(Objects.requireNonNull(pairs[i]), pairs[i + 1]);
+        }
+        return map;
+    }
+
+    @FunctionalInterface
+    private interface Filter<T> {
+        Predicate apply(CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> root);
+    }
+}
@@ -0,0 +1,8 @@
+package com.shadoww.library.repository;
+
+public interface MemberBookView {
+
+    Long getMemberId();
+
+    Long getBookId();
+}
@@ -0,0 +1,8 @@
+package com.shadoww.library.repository;
+
+public interface OpenBorrowCountView {
+
+    Long getMemberId();
+
+    long getOpenBorrows();
+}
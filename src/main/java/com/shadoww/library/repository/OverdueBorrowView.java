@@ -0,0 +1,14 @@
+package com.shadoww.library.repository;
+
+import java.time.LocalDateTime;
+
+public interface OverdueBorrowView {
+
+    Long getId();
+
+    Long getMemberId();
+
+    Long getBookId();
+
+    LocalDateTime getDueDate();
+}
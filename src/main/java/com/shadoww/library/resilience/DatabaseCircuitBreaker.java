@@ -0,0 +1,173 @@
+package com.shadoww.library.resilience;
+
+import com.shadoww.library.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guards every call that reaches the database: repository methods and transaction begins.
+ * After failure-threshold consecutive calls fail on the database, the breaker opens and calls are
+ * rejected without touching the database for open-ms. Then one trial call is let through: it closes
+ * the breaker when it succeeds and reopens it otherwise.
+ * <p>
+ * Call duration and timeouts are not counted: lock waits, imports and scheduled jobs are slow without
+ * the database being in trouble, and a request deadline or lock timeout says as much about the caller.
+ * A stalled database shows up as connections that can't be obtained instead.
+ * <p>
+ * Only the outermost guarded call on a thread counts, so a repository method and the transaction
+ * it begins are one call.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    @FunctionalInterface
+    public interface Guarded<T, E extends Throwable> {
+        T run() throws E;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${db.breaker.failure-threshold}")
+    private int failureThreshold;
+
+    @Value("${db.breaker.open-ms}")
+    private long openMs;
+
+    private final ThreadLocal<Boolean> inCall = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    private Counter rejected;
+
+    @PostConstruct
+    void registerMeters() {
+        // 0 closed, 1 half-open, 2 open
+        meterRegistry.gauge("library.db.breaker.state", this, breaker -> breaker.state.ordinal());
+        rejected = meterRegistry.counter("library.db.breaker.rejected");
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * True while calls are rejected outright, i.e. the breaker is open and not yet due for a trial.
+     */
+    public boolean isOpen() {
+        return state == State.OPEN && !trialDue();
+    }
+
+    public <T, E extends Throwable> T guard(Guarded<T, E> call) throws E {
+        if (inCall.get()) {
+            return call.run();
+        }
+
+        boolean trial = acquire();
+        inCall.set(Boolean.TRUE);
+        Throwable failure = null;
+        try {
+            return call.run();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            inCall.set(Boolean.FALSE);
+            record(trial, failure);
+        }
+    }
+
+    /**
+     * Failures to reach the database: no connection or transaction could be had. Timeouts are left
+     * out, whether a client's request deadline or a lock wait, and so are lock conflicts; they are
+     * contention between requests. The cause chain is checked too, for calls whose exceptions are
+     * not translated yet.
+     */
+    public static boolean isDatabaseFailure(Throwable e) {
+        if (e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException) {
+            return true;
+        }
+
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // returns whether the caller is the trial call
+    private boolean acquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return false;
+        }
+
+        if ((current == State.HALF_OPEN || trialDue()) && trialInFlight.compareAndSet(false, true)) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+
+        rejected.increment();
+        throw new DatabaseUnavailableException(retryAfterSeconds());
+    }
+
+    private void record(boolean trial, Throwable failure) {
+        if (failure != null && isDatabaseFailure(failure)) {
+            if (trial || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                open(failure);
+            }
+        } else {
+            consecutiveFailures.set(0);
+            if (trial) {
+                state = State.CLOSED;
+                log.info("Database circuit breaker closed");
+            }
+        }
+
+        if (trial) {
+            trialInFlight.set(false);
+        }
+    }
+
+    private void open(Throwable failure) {
+        openedAt = System.nanoTime();
+        consecutiveFailures.set(0);
+
+        if (state != State.OPEN) {
+            state = State.OPEN;
+            log.warn("Database circuit breaker opened for {} ms, last failure: {}", openMs, failure.toString());
+        }
+    }
+
+    private boolean trialDue() {
+        return System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(openMs);
+    }
+
+    private long retryAfterSeconds() {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(openMs) - (System.nanoTime() - openedAt);
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
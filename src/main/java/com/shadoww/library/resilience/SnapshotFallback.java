@@ -0,0 +1,70 @@
+package com.shadoww.library.resilience;
+
+import com.shadoww.library.exception.DatabaseUnavailableException;
+import com.shadoww.library.service.CatalogSnapshot;
+import com.shadoww.library.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serves catalog reads from the {@link CatalogSnapshot} while the database is unavailable: when the
+ * circuit breaker is open, or when the live read fails on the database. Snapshot responses carry
+ * {@code Age}, a stale {@code Warning} and {@value #SNAPSHOT_HEADER}; without a snapshot the
+ * original failure is thrown.
+ */
+@Component
+public class SnapshotFallback {
+
+    public static final String SNAPSHOT_HEADER = "X-Catalog-Snapshot-Taken-At";
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final Counter served;
+
+    public SnapshotFallback(DatabaseCircuitBreaker circuitBreaker,
+                            CatalogSnapshotService catalogSnapshotService,
+                            MeterRegistry meterRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.served = meterRegistry.counter("library.catalog.snapshot.served");
+    }
+
+    public <T> ResponseEntity<T> read(Supplier<T> live, Function<CatalogSnapshot, T> fromSnapshot) {
+        RuntimeException failure;
+        if (circuitBreaker.isOpen()) {
+            failure = null;
+        } else {
+            try {
+                return ResponseEntity.ok(live.get());
+            } catch (RuntimeException e) {
+                if (!(e instanceof DatabaseUnavailableException) && !DatabaseCircuitBreaker.isDatabaseFailure(e)) {
+                    throw e;
+                }
+                failure = e;
+            }
+        }
+
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.getSnapshot();
+        if (snapshot.isEmpty()) {
+            throw failure != null ? failure : new DatabaseUnavailableException(1);
+        }
+
+        T body = fromSnapshot.apply(snapshot.get());
+        served.increment();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(Math.max(0, snapshot.get().age().toSeconds())))
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .header(SNAPSHOT_HEADER, snapshot.get().takenAt().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.service.BorrowArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves returned borrows older than the retention threshold into borrow_history,
+ * one short transaction per batch, so the borrow table only holds recent and open loans.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BorrowArchiver {
+
+    private final BorrowArchiveService borrowArchiveService;
+
+    @Value("${borrow.archive.after-days}")
+    private int afterDays;
+
+    @Value("${borrow.archive.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${borrow.archive.interval-ms}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+
+        long total = 0;
+        int archived;
+        do {
+            archived = borrowArchiveService.archiveReturnedBefore(cutoff, batchSize);
+            total += archived;
+        } while (archived == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} returned borrows older than {}", total, cutoff);
+        }
+    }
+}
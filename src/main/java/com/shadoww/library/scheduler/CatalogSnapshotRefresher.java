@@ -0,0 +1,29 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.exception.DatabaseUnavailableException;
+import com.shadoww.library.service.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the catalog snapshot served while the database circuit breaker is open.
+ * While it is open the refresh is rejected and the previous snapshot is kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotRefresher {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-ms}")
+    public void refresh() {
+        try {
+            catalogSnapshotService.refresh();
+        } catch (DatabaseUnavailableException e) {
+            log.debug("Catalog snapshot not refreshed, database circuit breaker is open");
+        }
+    }
+}
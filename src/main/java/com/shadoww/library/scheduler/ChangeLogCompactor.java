@@ -0,0 +1,28 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops change log entries superseded by a later change to the same entity,
+ * so the log grows with the number of changed entities rather than the number of writes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeLogCompactor {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Scheduled(fixedDelayString = "${changes.compaction-interval-ms}")
+    public void compact() {
+        int removed = changeFeedService.compact();
+
+        if (removed > 0) {
+            log.info("Compacted {} superseded change log entries", removed);
+        }
+    }
+}
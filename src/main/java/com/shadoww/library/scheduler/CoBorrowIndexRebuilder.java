@@ -0,0 +1,29 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.exception.DatabaseUnavailableException;
+import com.shadoww.library.service.AlsoBorrowedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recounts the also-borrowed index from the borrow tables, on startup and then periodically,
+ * which also drops counts for windows members have since moved past.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoBorrowIndexRebuilder {
+
+    private final AlsoBorrowedService alsoBorrowedService;
+
+    @Scheduled(fixedDelayString = "${also-borrowed.rebuild-interval-ms}")
+    public void rebuild() {
+        try {
+            alsoBorrowedService.rebuild();
+        } catch (DatabaseUnavailableException e) {
+            log.debug("Also-borrowed index not rebuilt, database circuit breaker is open");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.dto.InventoryAuditReportDto;
+import com.shadoww.library.service.InventoryAuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-checks the books changed since the previous audit; results are published
+ * on {@code /actuator/inventory} and as {@code library.inventory.discrepancies}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryAuditor {
+
+    private final InventoryAuditService inventoryAuditService;
+
+    @Scheduled(fixedDelayString = "${inventory.audit.interval-ms}")
+    public void audit() {
+        InventoryAuditReportDto report = inventoryAuditService.audit();
+
+        log.info("Inventory audit checked {} books in {} ms ({}), {} discrepancies",
+                report.checkedBooks(), report.durationMs(), report.fullScan() ? "full" : "incremental",
+                report.discrepancies().size());
+    }
+}
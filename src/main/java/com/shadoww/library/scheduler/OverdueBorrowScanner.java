@@ -0,0 +1,71 @@
+package com.shadoww.library.scheduler;
+
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.OverdueBorrowView;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically walks the overdue loans in (dueDate, id) order, one chunk at a time,
+ * so only a single chunk of projections is ever held in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OverdueBorrowScanner {
+
+    private final BorrowRepository borrowRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong overdueBorrows = new AtomicLong();
+
+    @Value("${borrow.overdue.chunk-size}")
+    private int chunkSize;
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("library.borrows.overdue", overdueBorrows);
+    }
+
+    @Scheduled(fixedDelayString = "${borrow.overdue.scan-interval-ms}")
+    public void scan() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable chunk = PageRequest.of(0, chunkSize);
+
+        long total = 0;
+        List<OverdueBorrowView> overdue = borrowRepository.findFirstOverdueChunk(now, chunk);
+
+        while (!overdue.isEmpty()) {
+            process(overdue);
+            total += overdue.size();
+
+            if (overdue.size() < chunkSize) {
+                break;
+            }
+
+            OverdueBorrowView last = overdue.get(overdue.size() - 1);
+            overdue = borrowRepository.findNextOverdueChunk(now, last.getDueDate(), last.getId(), chunk);
+        }
+
+        overdueBorrows.set(total);
+        log.info("Overdue scan finished: {} open borrows past their due date", total);
+    }
+
+    private void process(List<OverdueBorrowView> overdue) {
+        for (OverdueBorrowView borrow : overdue) {
+            log.debug("Borrow {} of book {} by member {} was due at {}",
+                    borrow.getId(), borrow.getBookId(), borrow.getMemberId(), borrow.getDueDate());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.AlsoBorrowedDto;
+
+import java.util.List;
+
+public interface AlsoBorrowedService {
+
+    void recordBorrow(Long memberId, Long bookId); // applied after the surrounding transaction commits
+
+    List<AlsoBorrowedDto> findAlsoBorrowed(Long bookId); // most co-borrowed first, no database access
+
+    void rebuild();
+}
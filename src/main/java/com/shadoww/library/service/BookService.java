@@ -1,8 +1,11 @@
 package com.shadoww.library.service;
 
+import com.shadoww.library.dto.BookAvailabilityDto;
 import com.shadoww.library.model.Book;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookService {
 
@@ -14,5 +17,15 @@ public interface BookService {
 
     Book findById(Long id);
 
+    Book findByIdForUpdate(Long id);
+
+    Map<Long, Book> findAllByIdForUpdate(Collection<Long> ids); // locked in id order, missing ids are absent
+
     List<Book> findAll();
+
+    Map<Long, Book> findAllById(List<Long> ids); // in request order, missing ids are absent
+
+    Map<Long, BookAvailabilityDto> findAvailabilityById(List<Long> ids); // in request order, missing ids are absent
+
+    List<Map<String, Object>> findAll(Collection<String> fields); // only the requested BookResponseDto fields
 }
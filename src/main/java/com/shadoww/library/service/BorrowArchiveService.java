@@ -0,0 +1,8 @@
+package com.shadoww.library.service;
+
+import java.time.LocalDateTime;
+
+public interface BorrowArchiveService {
+
+    int archiveReturnedBefore(LocalDateTime cutoff, int batchSize); // number of archived borrows
+}
@@ -0,0 +1,24 @@
+package com.shadoww.library.service;
+
+/**
+ * A borrow or a return, queued for {@link BorrowService#executeBatch}.
+ */
+public record BorrowCommand(
+        Type type,
+        Long memberId,
+        Long bookId,
+        Long borrowId
+) {
+    public enum Type {
+        BORROW,
+        RETURN
+    }
+
+    public static BorrowCommand borrow(Long memberId, Long bookId) {
+        return new BorrowCommand(Type.BORROW, memberId, bookId, null);
+    }
+
+    public static BorrowCommand giveBack(Long borrowId) {
+        return new BorrowCommand(Type.RETURN, null, null, borrowId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.model.Borrow;
+
+/**
+ * Entry point for borrows and returns coming from requests: either a transaction per call,
+ * or, with {@code borrow.batching.enabled}, group commit of concurrent calls.
+ */
+public interface BorrowCommandService {
+
+    Borrow borrowBook(Long memberId, Long bookId);
+
+    Borrow returnBook(Long borrowId);
+}
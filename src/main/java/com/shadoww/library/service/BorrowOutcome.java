@@ -0,0 +1,19 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.model.Borrow;
+
+/**
+ * Result of one command of a batch: the saved borrow, or the error that command alone failed with.
+ */
+public record BorrowOutcome(
+        Borrow borrow,
+        RuntimeException error
+) {
+    public static BorrowOutcome success(Borrow borrow) {
+        return new BorrowOutcome(borrow, null);
+    }
+
+    public static BorrowOutcome failure(RuntimeException error) {
+        return new BorrowOutcome(null, error);
+    }
+}
@@ -2,19 +2,35 @@ package com.shadoww.library.service;
 
 import com.shadoww.library.dto.BorrowCountDto;
 import com.shadoww.library.model.Borrow;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BorrowService {
 
 
     Borrow borrowBook(Long memberId, Long bookId);
 
+    Borrow borrowBook(Long memberId, Long bookId, Long branchId); // from the branch's stock, the book row untouched
+
     Borrow returnBook(Long borrowId);
 
+    List<BorrowOutcome> executeBatch(List<BorrowCommand> commands); // one transaction, one outcome per command in order
+
     List<Borrow> getBorrowsByMemberName(String name);
 
+    List<Map<String, Object>> getBorrowsByMemberName(String name, Collection<String> fields); // only the requested BorrowedBookDto fields
+
     List<String> getAllDistinctBorrowedBookTitles();
 
     List<BorrowCountDto> getAllBorrowedBookTitlesWithCount(); // title, count
+
+    Slice<Borrow> getOverdueBorrows(LocalDateTime afterDueDate, Long afterId, int size); // oldest due first, keyset on (dueDate, id)
+
+    Slice<Borrow> getMemberHistory(Long memberId, LocalDate from, LocalDate to, boolean activeOnly,
+                                   LocalDateTime beforeDate, Long beforeId, int size); // newest first, keyset on (borrowDate, id)
 }
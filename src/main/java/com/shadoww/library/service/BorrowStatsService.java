@@ -0,0 +1,19 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.TopBorrowedBookDto;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface BorrowStatsService {
+
+    // branchId is null for the central stock
+
+    void recordBorrow(Long bookId, Long branchId);
+
+    void recordReturn(Long bookId, Long branchId);
+
+    void record(Long bookId, Long branchId, long borrows, long returns);
+
+    List<TopBorrowedBookDto> getTopBorrowed(Duration window, int limit);
+}
@@ -0,0 +1,33 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.BranchAvailabilityDto;
+import com.shadoww.library.model.Branch;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.model.BranchStockId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BranchService {
+
+    Branch create(Branch branch);
+
+    List<Branch> findAll();
+
+    Branch findById(Long id);
+
+    BranchStock setCopies(Long branchId, Long bookId, int copies); // adds or removes copies, never those on loan
+
+    BranchStock findStockForUpdate(Long branchId, Long bookId);
+
+    Map<BranchStockId, BranchStock> findAllStockForUpdate(Collection<BranchStockId> keys); // locked in key order, missing keys are absent
+
+    Map<Long, BranchAvailabilityDto> findAvailabilityById(Long branchId, List<Long> bookIds); // in request order, unstocked books are absent
+
+    Map<Long, List<BranchAvailabilityDto>> findAvailabilityAcrossBranches(List<Long> bookIds); // in request order, every requested book present
+
+    void recordBorrow(Long branchId);
+
+    void recordReturn(Long branchId);
+}
@@ -0,0 +1,79 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.BookAvailabilityDto;
+import com.shadoww.library.dto.BookResponseDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-only copy of the catalog, keyed by book id, taken at {@code takenAt}.
+ * Lookups mirror the {@link BookService} reads so the snapshot can answer in their place.
+ */
+public record CatalogSnapshot(
+        Map<Long, BookResponseDto> books,
+        Instant takenAt
+) {
+    // in BookResponseDto order
+    private static final List<String> FIELDS = List.of("id", "title", "author", "amount");
+
+    public Duration age() {
+        return Duration.between(takenAt, Instant.now());
+    }
+
+    public List<BookResponseDto> findAll() {
+        return List.copyOf(books.values());
+    }
+
+    public List<Map<String, Object>> findAll(Collection<String> fields) {
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', expected any of " + FIELDS);
+            }
+        }
+
+        List<String> selected = FIELDS.stream().filter(fields::contains).toList();
+
+        return books.values().stream()
+                .map(book -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (String field : selected) {
+                        row.put(field, switch (field) {
+                            case "id" -> book.id();
+                            case "title" -> book.title();
+                            case "author" -> book.author();
+                            default -> book.amount();
+                        });
+                    }
+                    return row;
+                })
+                .toList();
+    }
+
+    public Optional<BookResponseDto> findById(Long id) {
+        return Optional.ofNullable(books.get(id));
+    }
+
+    // in request order, missing ids skipped
+    public Map<Long, BookResponseDto> findAllById(List<Long> ids) {
+        Map<Long, BookResponseDto> found = new LinkedHashMap<>();
+        for (Long id : ids) {
+            BookResponseDto book = books.get(id);
+            if (book != null) {
+                found.put(id, book);
+            }
+        }
+        return found;
+    }
+
+    public Map<Long, BookAvailabilityDto> findAvailabilityById(List<Long> ids) {
+        Map<Long, BookAvailabilityDto> found = new LinkedHashMap<>();
+        findAllById(ids).forEach((id, book) -> found.put(id, new BookAvailabilityDto(id, book.amount(), book.amount() > 0)));
+        return found;
+    }
+}
@@ -0,0 +1,10 @@
+package com.shadoww.library.service;
+
+import java.util.Optional;
+
+public interface CatalogSnapshotService {
+
+    void refresh();
+
+    Optional<CatalogSnapshot> getSnapshot();
+}
@@ -0,0 +1,25 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.ChangePageDto;
+import com.shadoww.library.model.ChangeEntityType;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+public interface ChangeFeedService {
+
+    void recordUpsert(ChangeEntityType entityType, Long entityId);
+
+    void recordDelete(ChangeEntityType entityType, Long entityId);
+
+    void recordUpserts(ChangeEntityType entityType, Collection<Long> entityIds);
+
+    ChangePageDto getChanges(long since, int limit);
+
+    CompletableFuture<ChangePageDto> awaitChanges(long since, int limit, Duration maxWait);
+
+    long getVisibleSeq(); // every change up to this seq is committed or rolled back, none is still pending
+
+    int compact();
+}
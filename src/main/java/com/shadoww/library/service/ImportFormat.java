@@ -0,0 +1,23 @@
+package com.shadoww.library.service;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    public static ImportFormat of(MediaType contentType) {
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))) {
+            return CSV;
+        }
+
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON))) {
+            return NDJSON;
+        }
+
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
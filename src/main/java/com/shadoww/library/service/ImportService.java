@@ -0,0 +1,12 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.ImportReportDto;
+
+import java.io.InputStream;
+
+public interface ImportService {
+
+    ImportReportDto importBooks(InputStream in, ImportFormat format); // title, author, copies
+
+    ImportReportDto importMembers(InputStream in, ImportFormat format); // name
+}
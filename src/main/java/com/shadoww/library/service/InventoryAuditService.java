@@ -0,0 +1,12 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.InventoryAuditReportDto;
+
+import java.util.Optional;
+
+public interface InventoryAuditService {
+
+    InventoryAuditReportDto audit();
+
+    Optional<InventoryAuditReportDto> getLastReport();
+}
@@ -3,7 +3,9 @@ package com.shadoww.library.service;
 
 import com.shadoww.library.model.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MemberService {
 
@@ -15,5 +17,11 @@ public interface MemberService {
 
     Member findById(Long id);
 
+    Member findByIdForUpdate(Long id);
+
+    Map<Long, Member> findAllByIdForUpdate(Collection<Long> ids); // locked in id order, missing ids are absent
+
     List<Member> findAll();
+
+    Map<Long, Member> findAllById(List<Long> ids); // in request order, missing ids are absent
 }
\ No newline at end of file
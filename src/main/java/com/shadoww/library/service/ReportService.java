@@ -0,0 +1,17 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.ReportJobDto;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ReportService {
+
+    ReportJobDto submit(ReportType type, String memberName);
+
+    ReportJobDto getJob(UUID id);
+
+    Optional<Object> getResult(UUID id); // empty while the job is queued or running
+
+    ReportJobDto cancel(UUID id);
+}
@@ -0,0 +1,13 @@
+package com.shadoww.library.service;
+
+public enum ReportStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+}
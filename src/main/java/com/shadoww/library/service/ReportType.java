@@ -0,0 +1,7 @@
+package com.shadoww.library.service;
+
+public enum ReportType {
+    MEMBER_HISTORY, // all borrows of a member, active and archived
+    TITLE_COUNTS,   // currently borrowed titles with copy counts
+    OVERDUE         // every open borrow past its due date
+}
@@ -0,0 +1,12 @@
+package com.shadoww.library.service;
+
+import com.shadoww.library.dto.TrendingBookDto;
+
+import java.util.List;
+
+public interface TrendingService {
+
+    void recordBorrow(Long bookId); // applied after the surrounding transaction commits
+
+    List<TrendingBookDto> findTrending(int limit); // most borrowed lately first, no database access
+}
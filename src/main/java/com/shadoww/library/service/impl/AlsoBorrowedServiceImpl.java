@@ -0,0 +1,235 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.AlsoBorrowedDto;
+import com.shadoww.library.repository.BorrowHistoryRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.MemberBookView;
+import com.shadoww.library.repository.MemberRepository;
+import com.shadoww.library.service.AlsoBorrowedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Also borrowed" neighbours per book, served from a {@link CoBorrowIndex} in memory. A member's
+ * window is their last member-window borrows, open and archived. Committed borrows are queued to
+ * a single worker, which counts the borrowed book against the rest of the member's window the first
+ * time it appears there. A rebuild recounts every member's window in parallel chunks into a fresh
+ * index and swaps it in; borrows recorded while it runs go to both indexes, so they may be counted
+ * twice until the next rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlsoBorrowedServiceImpl implements AlsoBorrowedService {
+
+    private final BorrowRepository borrowRepository;
+    private final BorrowHistoryRepository borrowHistoryRepository;
+    private final MemberRepository memberRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${also-borrowed.top-k}")
+    private int topK;
+
+    @Value("${also-borrowed.candidates}")
+    private int candidates;
+
+    @Value("${also-borrowed.member-window}")
+    private int memberWindow;
+
+    @Value("${also-borrowed.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${also-borrowed.rebuild-chunk-size}")
+    private int rebuildChunkSize;
+
+    @Value("${also-borrowed.rebuild-parallelism}")
+    private int rebuildParallelism;
+
+    private volatile CoBorrowIndex index;
+    private volatile CoBorrowIndex rebuilding;
+
+    private BlockingQueue<long[]> queue;
+    private Counter dropped;
+    private ForkJoinPool pool;
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        index = new CoBorrowIndex(topK, candidates);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        pool = new ForkJoinPool(rebuildParallelism);
+
+        dropped = meterRegistry.counter("library.also-borrowed.dropped");
+        meterRegistry.gauge("library.also-borrowed.books", this, service -> service.index.size());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("also-borrowed-");
+        threadFactory.setDaemon(true);
+        worker = threadFactory.newThread(this::drain);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+        pool.shutdownNow();
+    }
+
+    @Override
+    public void recordBorrow(Long memberId, Long bookId) {
+        long[] borrow = {memberId, bookId};
+
+        // a full queue only costs the recommendations some counts, never the borrow
+        Runnable enqueue = () -> {
+            if (!queue.offer(borrow)) {
+                dropped.increment();
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue.run();
+            }
+        });
+    }
+
+    @Override
+    public List<AlsoBorrowedDto> findAlsoBorrowed(Long bookId) {
+        return index.top(bookId);
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+
+        CoBorrowIndex fresh = new CoBorrowIndex(topK, candidates);
+        rebuilding = fresh;
+        try {
+            List<Long> memberIds = memberRepository.findAllIds();
+            pool.invoke(new CountChunk(memberIds, fresh));
+            index = fresh;
+
+            log.info("Rebuilt also-borrowed index over {} members, {} books in {} ms", memberIds.size(),
+                    fresh.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long[] borrow;
+            try {
+                borrow = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                apply(borrow[0], borrow[1]);
+            } catch (RuntimeException ex) {
+                dropped.increment();
+                log.debug("Also-borrowed update for member {} and book {} dropped: {}", borrow[0], borrow[1], ex.toString());
+            }
+        }
+    }
+
+    private void apply(long memberId, long bookId) {
+        List<Long> recent = new ArrayList<>(borrowRepository.findRecentBookIdsByMemberId(memberId,
+                PageRequest.of(0, memberWindow)));
+        if (recent.size() < memberWindow) {
+            recent.addAll(borrowHistoryRepository.findRecentBookIdsByMemberId(memberId,
+                    PageRequest.of(0, memberWindow - recent.size())));
+        }
+
+        // a book borrowed again was already counted with this member's other books
+        if (recent.stream().filter(id -> id == bookId).count() != 1) {
+            return;
+        }
+
+        long[] others = new LinkedHashSet<>(recent).stream()
+                .mapToLong(Long::longValue)
+                .filter(id -> id != bookId)
+                .toArray();
+
+        index.addBorrow(bookId, others);
+        CoBorrowIndex pending = rebuilding;
+        if (pending != null) {
+            pending.addBorrow(bookId, others);
+        }
+    }
+
+    private class CountChunk extends RecursiveAction {
+
+        private final List<Long> memberIds;
+        private final CoBorrowIndex target;
+
+        CountChunk(List<Long> memberIds, CoBorrowIndex target) {
+            this.memberIds = memberIds;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            if (memberIds.size() <= rebuildChunkSize) {
+                count();
+                return;
+            }
+
+            int middle = memberIds.size() / 2;
+            invokeAll(new CountChunk(memberIds.subList(0, middle), target),
+                    new CountChunk(memberIds.subList(middle, memberIds.size()), target));
+        }
+
+        private void count() {
+            if (memberIds.isEmpty()) {
+                return;
+            }
+
+            // open and recent borrows first, then archived ones, each newest first per member
+            Map<Long, List<Long>> windows = new HashMap<>();
+            addRows(windows, borrowRepository.findMemberBooksByMemberIdIn(memberIds));
+            addRows(windows, borrowHistoryRepository.findMemberBooksByMemberIdIn(memberIds));
+
+            windows.values().forEach(window -> target.addMember(new LinkedHashSet<>(window).stream()
+                    .mapToLong(Long::longValue)
+                    .toArray()));
+        }
+
+        private void addRows(Map<Long, List<Long>> windows, List<MemberBookView> rows) {
+            for (MemberBookView row : rows) {
+                List<Long> window = windows.computeIfAbsent(row.getMemberId(), id -> new ArrayList<>());
+                if (window.size() < memberWindow) {
+                    window.add(row.getBookId());
+                }
+            }
+        }
+    }
+}
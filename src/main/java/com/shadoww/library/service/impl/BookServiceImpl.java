@@ -1,16 +1,30 @@
 package com.shadoww.library.service.impl;
 
+import com.shadoww.library.dto.BookAvailabilityDto;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.jfr.CatalogEvent;
+import com.shadoww.library.jfr.LibraryEvent;
 import com.shadoww.library.model.Book;
+import com.shadoww.library.model.ChangeEntityType;
 import com.shadoww.library.repository.BookRepository;
 import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.BranchStockRepository;
+import com.shadoww.library.repository.FieldProjectionRepository;
 import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.ChangeFeedService;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,19 +32,45 @@ public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
     private final BorrowRepository borrowRepository;
+    private final BranchStockRepository branchStockRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${lookup.max-ids}")
+    private int lookupMaxIds;
+
+    @Value("${lookup.chunk-size}")
+    private int lookupChunkSize;
 
 
     @Override
     @Transactional
     public Book createOrIncrement(Book book) {
+        CatalogEvent event = new CatalogEvent();
+
+        return event.run(() -> createOrIncrement(book, event));
+    }
+
+    private Book createOrIncrement(Book book, CatalogEvent event) {
         validate(book);
+        event.title = book.getTitle();
 
-        return bookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase(book.getTitle(), book.getAuthor())
+        Book saved = bookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase(book.getTitle(), book.getAuthor())
                 .map(existing -> {
                     existing.setAmount(existing.getAmount() + 1);
+                    existing.setTotalCopies(existing.getTotalCopies() + 1);
                     return bookRepository.save(existing);
                 })
-                .orElseGet(() -> bookRepository.save(book));
+                .orElseGet(() -> {
+                    event.created = true;
+                    book.setTotalCopies(book.getAmount());
+                    return bookRepository.save(book);
+                });
+        event.bookId = LibraryEvent.id(saved.getId());
+        event.rowsTouched = 1;
+
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, saved.getId());
+        return saved;
     }
 
     @Override
@@ -42,9 +82,13 @@ public class BookServiceImpl implements BookService {
 
         existing.setTitle(updatedBook.getTitle());
         existing.setAuthor(updatedBook.getAuthor());
+        // copies added to or removed from the shelf are added to or removed from the stock
+        existing.setTotalCopies(existing.getTotalCopies() + updatedBook.getAmount() - existing.getAmount());
         existing.setAmount(updatedBook.getAmount());
 
-        return bookRepository.save(existing);
+        Book saved = bookRepository.save(existing);
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, saved.getId());
+        return saved;
     }
 
     @Override
@@ -55,23 +99,60 @@ public class BookServiceImpl implements BookService {
         boolean isBorrowed = !borrowRepository.findByBookAndReturnedFalse(book).isEmpty();
 
         if (isBorrowed) {
-            throw new IllegalStateException("Cannot delete book that is currently borrowed");
+            throw Rejection.BOOK_BORROWED.getException();
         }
 
+        branchStockRepository.deleteByBookId(id);
         bookRepository.delete(book);
+        changeFeedService.recordDelete(ChangeEntityType.BOOK, id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Book findById(Long id) {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id));
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Book findByIdForUpdate(Long id) {
+        return bookRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Book not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Book> findAllByIdForUpdate(Collection<Long> ids) {
+        return bookRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Book> findAll() {
         return bookRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Book> findAllById(List<Long> ids) {
+        return IdBatches.load(ids, lookupMaxIds, lookupChunkSize, bookRepository::findAllById, Book::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, BookAvailabilityDto> findAvailabilityById(List<Long> ids) {
+        return IdBatches.load(ids, lookupMaxIds, lookupChunkSize,
+                bookRepository::findAvailabilityByIdIn, BookAvailabilityDto::bookId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(Collection<String> fields) {
+        return fieldProjectionRepository.findBooks(fields);
+    }
+
     private void validate(Book book) {
         if(Objects.isNull(book)) {
             throw new IllegalArgumentException("Book cannot be null");
@@ -0,0 +1,38 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.repository.BorrowHistoryRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.service.BorrowArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BorrowArchiveServiceImpl implements BorrowArchiveService {
+
+    private final BorrowRepository borrowRepository;
+    private final BorrowHistoryRepository borrowHistoryRepository;
+
+    @Override
+    @Transactional
+    public int archiveReturnedBefore(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = borrowRepository.findReturnedIdsBefore(cutoff, PageRequest.of(0, batchSize));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int copied = borrowHistoryRepository.copyFromBorrows(ids);
+
+        if (copied != ids.size()) {
+            throw new IllegalStateException("Archived " + copied + " of " + ids.size() + " borrows, rolling back");
+        }
+
+        return borrowRepository.deleteByIdIn(ids);
+    }
+}
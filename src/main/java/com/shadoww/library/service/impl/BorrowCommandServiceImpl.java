@@ -0,0 +1,243 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.deadline.RequestDeadline;
+import com.shadoww.library.exception.DeadlineExceededException;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.service.BorrowCommand;
+import com.shadoww.library.service.BorrowCommandService;
+import com.shadoww.library.service.BorrowOutcome;
+import com.shadoww.library.service.BorrowService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * With batching on, callers park on a future while a single worker collects queued commands
+ * for up to {@code window-us} or {@code max-size} commands and runs them in one transaction.
+ * Each caller still gets its own borrow or error. If the batch itself fails, e.g. on a lock
+ * timeout, its commands are retried one transaction each. Callers wait until their request
+ * deadline, or max-wait-ms without one; a command still queued by then is dropped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BorrowCommandServiceImpl implements BorrowCommandService {
+
+    private final BorrowService borrowService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${borrow.batching.enabled}")
+    private boolean enabled;
+
+    @Value("${borrow.batching.max-size}")
+    private int maxSize;
+
+    @Value("${borrow.batching.window-us}")
+    private long windowMicros;
+
+    @Value("${borrow.batching.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${borrow.batching.max-wait-ms}")
+    private long maxWaitMs;
+
+    private volatile boolean stopped;
+    private BlockingQueue<PendingCommand> queue;
+    private DistributionSummary batchSizes;
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSizes = DistributionSummary.builder("library.borrow.batch.size")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("borrow-batch-");
+        threadFactory.setDaemon(true);
+        worker = threadFactory.newThread(this::drain);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public Borrow borrowBook(Long memberId, Long bookId) {
+        return enabled ? submit(BorrowCommand.borrow(memberId, bookId)) : borrowService.borrowBook(memberId, bookId);
+    }
+
+    @Override
+    public Borrow returnBook(Long borrowId) {
+        return enabled ? submit(BorrowCommand.giveBack(borrowId)) : borrowService.returnBook(borrowId);
+    }
+
+    private Borrow submit(BorrowCommand command) {
+        if (stopped) {
+            throw new RejectedExecutionException("Borrow queue is shut down");
+        }
+
+        Long remaining = RequestDeadline.remainingMillis();
+        long waitNanos = TimeUnit.MILLISECONDS.toNanos(remaining == null ? maxWaitMs : Math.max(remaining, 0));
+
+        PendingCommand pending = new PendingCommand(command, System.nanoTime() + waitNanos, new CompletableFuture<>());
+
+        if (!queue.offer(pending)) {
+            throw new RejectedExecutionException("Too many borrows and returns in flight, try again later");
+        }
+
+        // stopped in between: the worker may have drained the queue for the last time before this offer
+        if (stopped && queue.remove(pending)) {
+            throw new RejectedExecutionException("Borrow queue is shut down");
+        }
+
+        try {
+            return pending.result().get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // still queued: the worker will never run it; already running: its outcome is unknown to the caller
+            queue.remove(pending);
+            throw new DeadlineExceededException();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            queue.remove(pending);
+            throw new RejectedExecutionException("Interrupted while waiting for the borrow queue", ex);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+
+        return new CompletionException(cause);
+    }
+
+    private void drain() {
+        List<PendingCommand> batch = new ArrayList<>(maxSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            // the worker must outlive any failure, or every later caller waits out its deadline
+            try {
+                execute(batch);
+            } catch (Throwable ex) {
+                if (ex instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.error("Batch of {} borrows and returns failed", batch.size(), ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            }
+            batch.clear();
+        }
+
+        RejectedExecutionException shutdown = new RejectedExecutionException("Borrow queue is shut down");
+        PendingCommand pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(shutdown);
+        }
+    }
+
+    private void collect(List<PendingCommand> batch) throws InterruptedException {
+        batch.add(queue.take());
+
+        long windowEnd = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        queue.drainTo(batch, maxSize - batch.size());
+
+        while (batch.size() < maxSize) {
+            PendingCommand next = queue.poll(windowEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+        }
+    }
+
+    private void execute(List<PendingCommand> batch) {
+        long now = System.nanoTime();
+        List<PendingCommand> live = new ArrayList<>(batch.size());
+
+        for (PendingCommand pending : batch) {
+            if (now - pending.expiresAt() > 0) {
+                pending.result().completeExceptionally(new DeadlineExceededException());
+            } else {
+                live.add(pending);
+            }
+        }
+
+        if (live.isEmpty()) {
+            return;
+        }
+
+        batchSizes.record(live.size());
+
+        List<BorrowOutcome> outcomes;
+        try {
+            outcomes = borrowService.executeBatch(live.stream().map(PendingCommand::command).toList());
+        } catch (RuntimeException ex) {
+            log.warn("Batch of {} borrows and returns failed, running them one by one", live.size(), ex);
+            live.forEach(this::executeAlone);
+            return;
+        }
+
+        for (int i = 0; i < live.size(); i++) {
+            BorrowOutcome outcome = outcomes.get(i);
+            CompletableFuture<Borrow> result = live.get(i).result();
+
+            if (outcome.error() == null) {
+                result.complete(outcome.borrow());
+            } else {
+                result.completeExceptionally(outcome.error());
+            }
+        }
+    }
+
+    private void executeAlone(PendingCommand pending) {
+        BorrowCommand command = pending.command();
+
+        try {
+            Borrow borrow = command.type() == BorrowCommand.Type.BORROW
+                    ? borrowService.borrowBook(command.memberId(), command.bookId())
+                    : borrowService.returnBook(command.borrowId());
+            pending.result().complete(borrow);
+        } catch (Throwable ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    private record PendingCommand(BorrowCommand command, long expiresAt, CompletableFuture<Borrow> result) {
+    }
+}
@@ -1,21 +1,57 @@
 package com.shadoww.library.service.impl;
 
 import com.shadoww.library.dto.BorrowCountDto;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.jfr.AggregationEvent;
+import com.shadoww.library.jfr.BorrowEvent;
+import com.shadoww.library.jfr.DbTime;
+import com.shadoww.library.jfr.LibraryEvent;
+import com.shadoww.library.jfr.ReturnEvent;
 import com.shadoww.library.model.Book;
 import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.BorrowHistory;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.model.BranchStockId;
+import com.shadoww.library.model.ChangeEntityType;
 import com.shadoww.library.model.Member;
+import com.shadoww.library.repository.BorrowHistoryRepository;
 import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.BorrowStockView;
+import com.shadoww.library.repository.FieldProjectionRepository;
+import com.shadoww.library.service.AlsoBorrowedService;
 import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowCommand;
+import com.shadoww.library.service.BorrowOutcome;
 import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.BorrowStatsService;
+import com.shadoww.library.service.BranchService;
+import com.shadoww.library.service.ChangeFeedService;
 import com.shadoww.library.service.MemberService;
+import com.shadoww.library.service.TrendingService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,81 +59,525 @@ import java.util.stream.Collectors;
 public class BorrowServiceImpl implements BorrowService {
 
     private final BorrowRepository borrowRepository;
+    private final BorrowHistoryRepository borrowHistoryRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     private final MemberService memberService;
     private final BookService bookService;
+    private final BranchService branchService;
+    private final BorrowStatsService borrowStatsService;
+    private final ChangeFeedService changeFeedService;
+    private final AlsoBorrowedService alsoBorrowedService;
+    private final TrendingService trendingService;
 
     @Value("${borrow.limit}")
     private int borrowLimit;
 
+    @Value("${borrow.loan-period-days}")
+    private int loanPeriodDays;
+
+    @Value("${borrow.history.max-page-size}")
+    private int historyMaxPageSize;
+
+    @Value("${borrow.overdue.max-page-size}")
+    private int overdueMaxPageSize;
+
     @Override
     @Transactional
     public Borrow borrowBook(Long memberId, Long bookId) {
-        Member member = memberService.findById(memberId);
+        BorrowEvent event = new BorrowEvent();
+        event.memberId = LibraryEvent.id(memberId);
+        event.bookId = LibraryEvent.id(bookId);
 
-        Book book = bookService.findById(bookId);
+        return event.run(() -> borrowBook(memberId, bookId, event));
+    }
+
+    private Borrow borrowBook(Long memberId, Long bookId, BorrowEvent event) {
+        // member lock serializes the limit check, book lock the stock change;
+        // returnBook takes book then borrow, so lock order is always member, book, borrow
+        Member member = memberService.findByIdForUpdate(memberId);
+
+        Book book = bookService.findByIdForUpdate(bookId);
 
         int activeBorrows = borrowRepository.findByMemberAndReturnedFalse(member).size();
+        event.title = book.getTitle();
+        event.rowsTouched = 2 + activeBorrows;
 
         if (activeBorrows >= borrowLimit) {
-            throw new IllegalStateException("Borrow limit exceeded");
+            throw Rejection.BORROW_LIMIT_EXCEEDED.getException();
         }
 
 
         if (book.getAmount() <= 0) {
-            throw new IllegalStateException("Book is not available");
+            throw Rejection.BOOK_NOT_AVAILABLE.getException();
         }
 
-        book.setAmount(book.getAmount() - 1);
-        Borrow borrow = new Borrow();
-        borrow.setBook(book);
-        borrow.setMember(member);
+        Borrow saved = applyBorrow(member, book, null);
+        event.borrowId = LibraryEvent.id(saved.getId());
+        event.rowsTouched++;
 
-        return borrowRepository.save(borrow);
+        borrowStatsService.recordBorrow(book.getId(), null);
+        alsoBorrowedService.recordBorrow(memberId, book.getId());
+        trendingService.recordBorrow(book.getId());
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, book.getId());
+        changeFeedService.recordUpsert(ChangeEntityType.BORROW, saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public Borrow borrowBook(Long memberId, Long bookId, Long branchId) {
+        BorrowEvent event = new BorrowEvent();
+        event.memberId = LibraryEvent.id(memberId);
+        event.bookId = LibraryEvent.id(bookId);
+
+        return event.run(() -> borrowFromBranch(memberId, bookId, branchId, event));
+    }
+
+    private Borrow borrowFromBranch(Long memberId, Long bookId, Long branchId, BorrowEvent event) {
+        // the branch's stock row takes the place of the book row: member, stock, borrow
+        Member member = memberService.findByIdForUpdate(memberId);
+
+        BranchStock stock = branchService.findStockForUpdate(branchId, bookId);
+        Book book = bookService.findById(bookId);
+
+        int activeBorrows = borrowRepository.findByMemberAndReturnedFalse(member).size();
+        event.title = book.getTitle();
+        event.rowsTouched = 3 + activeBorrows;
+
+        if (activeBorrows >= borrowLimit) {
+            throw Rejection.BORROW_LIMIT_EXCEEDED.getException();
+        }
+
+        if (stock.getAmount() <= 0) {
+            throw Rejection.BOOK_NOT_AVAILABLE.getException();
+        }
+
+        Borrow saved = applyBorrow(member, book, stock);
+        event.borrowId = LibraryEvent.id(saved.getId());
+        event.rowsTouched++;
+
+        borrowStatsService.recordBorrow(bookId, branchId);
+        branchService.recordBorrow(branchId);
+        alsoBorrowedService.recordBorrow(memberId, bookId);
+        trendingService.recordBorrow(bookId);
+        changeFeedService.recordUpsert(ChangeEntityType.BORROW, saved.getId());
+        return saved;
     }
 
     @Override
     @Transactional
     public Borrow returnBook(Long borrowId) {
-        Borrow borrow = borrowRepository.findById(borrowId)
+        ReturnEvent event = new ReturnEvent();
+        event.borrowId = LibraryEvent.id(borrowId);
+
+        return event.run(() -> returnBook(borrowId, event));
+    }
+
+    private Borrow returnBook(Long borrowId, ReturnEvent event) {
+        BorrowStockView source = borrowRepository.findStockById(borrowId)
                 .orElseThrow(() -> new EntityNotFoundException("Borrow not found with id: " + borrowId));
+        Long bookId = source.getBookId();
+        Long branchId = source.getBranchId();
+
+        // locked before the borrow is loaded, so the managed book or stock holds the current amount
+        BranchStock stock = null;
+        if (branchId == null) {
+            bookService.findByIdForUpdate(bookId);
+        } else {
+            stock = branchService.findStockForUpdate(branchId, bookId);
+        }
+
+        Borrow borrow = borrowRepository.findByIdForUpdate(borrowId)
+                .orElseThrow(() -> new EntityNotFoundException("Borrow not found with id: " + borrowId));
+        if (event.recording()) {
+            event.bookId = bookId;
+            event.memberId = borrow.getMember().getId();
+            event.title = borrow.getBook().getTitle();
+            event.rowsTouched = 2;
+        }
 
         if (borrow.isReturned()) {
-            throw new IllegalStateException("Already returned");
+            throw Rejection.ALREADY_RETURNED.getException();
+        }
+
+        Borrow saved = applyReturn(borrow, stock);
+
+        borrowStatsService.recordReturn(bookId, branchId);
+        if (branchId == null) {
+            changeFeedService.recordUpsert(ChangeEntityType.BOOK, bookId);
+        } else {
+            branchService.recordReturn(branchId);
+        }
+        changeFeedService.recordUpsert(ChangeEntityType.BORROW, saved.getId());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<BorrowOutcome> executeBatch(List<BorrowCommand> commands) {
+        List<LibraryEvent> events = new ArrayList<>(commands.size());
+        for (BorrowCommand command : commands) {
+            LibraryEvent event = command.type() == BorrowCommand.Type.BORROW ? new BorrowEvent() : new ReturnEvent();
+            event.begin();
+            events.add(event);
+        }
+
+        DbTime batchTime = DbTime.open();
+        List<BorrowOutcome> outcomes;
+        try {
+            outcomes = runBatch(commands);
+        } finally {
+            batchTime.close();
+        }
+
+        for (int i = 0; i < commands.size(); i++) {
+            describe(events.get(i), commands.get(i), outcomes.get(i), commands.size());
+            events.get(i).finishInBatch(outcomes.get(i).error(), batchTime);
+        }
+
+        return outcomes;
+    }
+
+    private void describe(LibraryEvent event, BorrowCommand command, BorrowOutcome outcome, int batchSize) {
+        if (!event.isEnabled()) {
+            return;
+        }
+
+        Borrow borrow = outcome.borrow();
+
+        if (event instanceof BorrowEvent borrowEvent) {
+            borrowEvent.memberId = LibraryEvent.id(command.memberId());
+            borrowEvent.bookId = LibraryEvent.id(command.bookId());
+            borrowEvent.borrowId = borrow == null ? 0 : LibraryEvent.id(borrow.getId());
+            borrowEvent.title = borrow == null ? null : borrow.getBook().getTitle();
+            borrowEvent.batchSize = batchSize;
+        } else if (event instanceof ReturnEvent returnEvent) {
+            returnEvent.borrowId = LibraryEvent.id(command.borrowId());
+            returnEvent.memberId = borrow == null ? 0 : borrow.getMember().getId();
+            returnEvent.bookId = borrow == null ? 0 : borrow.getBook().getId();
+            returnEvent.title = borrow == null ? null : borrow.getBook().getTitle();
+            returnEvent.batchSize = batchSize;
+        }
+    }
+
+    private List<BorrowOutcome> runBatch(List<BorrowCommand> commands) {
+        Set<Long> memberIds = new HashSet<>();
+        Set<Long> bookIds = new HashSet<>();
+        Set<Long> borrowIds = new HashSet<>();
+
+        for (BorrowCommand command : commands) {
+            if (command.type() == BorrowCommand.Type.BORROW) {
+                memberIds.add(command.memberId());
+                bookIds.add(command.bookId());
+            } else {
+                borrowIds.add(command.borrowId());
+            }
+        }
+
+        Set<BranchStockId> stockKeys = new HashSet<>();
+        if (!borrowIds.isEmpty()) {
+            for (BorrowStockView source : borrowRepository.findStocksByIdIn(borrowIds)) {
+                if (source.getBranchId() == null) {
+                    bookIds.add(source.getBookId());
+                } else {
+                    stockKeys.add(new BranchStockId(source.getBranchId(), source.getBookId()));
+                }
+            }
+        }
+
+        // every row of the batch is locked up front, each table in id order, keeping the member, book,
+        // branch stock, borrow order of the single-command paths; a failing command is then an outcome,
+        // never a thrown exception, so it can't mark the shared transaction rollback-only
+        Map<Long, Member> members = memberIds.isEmpty() ? Map.of() : memberService.findAllByIdForUpdate(memberIds);
+        Map<Long, Book> books = bookIds.isEmpty() ? Map.of() : bookService.findAllByIdForUpdate(bookIds);
+        Map<BranchStockId, BranchStock> stocks = stockKeys.isEmpty() ? Map.of() : branchService.findAllStockForUpdate(stockKeys);
+        Map<Long, Borrow> borrows = borrowIds.isEmpty() ? Map.of() : borrowRepository.findAllByIdForUpdate(borrowIds).stream()
+                .collect(Collectors.toMap(Borrow::getId, Function.identity()));
+
+        Map<Long, Long> openBorrows = new HashMap<>();
+        if (!members.isEmpty()) {
+            borrowRepository.countOpenByMemberIdIn(members.keySet())
+                    .forEach(view -> openBorrows.put(view.getMemberId(), view.getOpenBorrows()));
+        }
+
+        List<BorrowOutcome> outcomes = new ArrayList<>(commands.size());
+
+        for (BorrowCommand command : commands) {
+            if (command.type() == BorrowCommand.Type.BORROW) {
+                outcomes.add(borrowInBatch(command, members, books, openBorrows));
+            } else {
+                outcomes.add(returnInBatch(command, borrows, stocks, openBorrows));
+            }
+        }
+
+        recordBatch(commands, outcomes);
+        return outcomes;
+    }
+
+    // stats and change log once per book and branch rather than once per command; the native statements
+    // behind them flush the session, so issuing them last leaves the borrow writes to one JDBC batch
+    private void recordBatch(List<BorrowCommand> commands, List<BorrowOutcome> outcomes) {
+        Map<StatKey, long[]> statCounts = new LinkedHashMap<>();
+        Set<Long> centralBookIds = new LinkedHashSet<>();
+        List<Long> borrowIds = new ArrayList<>();
+
+        for (int i = 0; i < commands.size(); i++) {
+            Borrow saved = outcomes.get(i).borrow();
+            if (Objects.isNull(saved)) {
+                continue;
+            }
+
+            boolean borrowed = commands.get(i).type() == BorrowCommand.Type.BORROW;
+            long[] counts = statCounts.computeIfAbsent(new StatKey(saved.getBook().getId(), saved.getBranchId()),
+                    key -> new long[2]);
+            counts[borrowed ? 0 : 1]++;
+            borrowIds.add(saved.getId());
+
+            if (borrowed) {
+                alsoBorrowedService.recordBorrow(saved.getMember().getId(), saved.getBook().getId());
+                trendingService.recordBorrow(saved.getBook().getId());
+            }
+
+            if (saved.getBranchId() == null) {
+                centralBookIds.add(saved.getBook().getId());
+            } else {
+                branchService.recordReturn(saved.getBranchId()); // batches only borrow from the central stock
+            }
         }
 
+        statCounts.forEach((key, counts) -> borrowStatsService.record(key.bookId(), key.branchId(), counts[0], counts[1]));
+        changeFeedService.recordUpserts(ChangeEntityType.BOOK, centralBookIds);
+        changeFeedService.recordUpserts(ChangeEntityType.BORROW, borrowIds);
+    }
+
+    private BorrowOutcome borrowInBatch(BorrowCommand command, Map<Long, Member> members, Map<Long, Book> books,
+                                        Map<Long, Long> openBorrows) {
+        Member member = members.get(command.memberId());
+        if (Objects.isNull(member)) {
+            return BorrowOutcome.failure(new EntityNotFoundException("Member not found with id: " + command.memberId()));
+        }
+
+        Book book = books.get(command.bookId());
+        if (Objects.isNull(book)) {
+            return BorrowOutcome.failure(new EntityNotFoundException("Book not found with id: " + command.bookId()));
+        }
+
+        long active = openBorrows.getOrDefault(member.getId(), 0L);
+
+        if (active >= borrowLimit) {
+            return BorrowOutcome.failure(Rejection.BORROW_LIMIT_EXCEEDED.getException());
+        }
+
+        if (book.getAmount() <= 0) {
+            return BorrowOutcome.failure(Rejection.BOOK_NOT_AVAILABLE.getException());
+        }
+
+        openBorrows.put(member.getId(), active + 1);
+        return BorrowOutcome.success(applyBorrow(member, book, null));
+    }
+
+    private BorrowOutcome returnInBatch(BorrowCommand command, Map<Long, Borrow> borrows,
+                                        Map<BranchStockId, BranchStock> stocks, Map<Long, Long> openBorrows) {
+        Borrow borrow = borrows.get(command.borrowId());
+        if (Objects.isNull(borrow)) {
+            return BorrowOutcome.failure(new EntityNotFoundException("Borrow not found with id: " + command.borrowId()));
+        }
+
+        if (borrow.isReturned()) {
+            return BorrowOutcome.failure(Rejection.ALREADY_RETURNED.getException());
+        }
+
+        BranchStock stock = null;
+        if (borrow.getBranchId() != null) {
+            stock = stocks.get(new BranchStockId(borrow.getBranchId(), borrow.getBook().getId()));
+            if (Objects.isNull(stock)) {
+                return BorrowOutcome.failure(new EntityNotFoundException(
+                        "Book " + borrow.getBook().getId() + " is not stocked at branch " + borrow.getBranchId()));
+            }
+        }
+
+        openBorrows.computeIfPresent(borrow.getMember().getId(), (memberId, active) -> active - 1);
+        return BorrowOutcome.success(applyReturn(borrow, stock));
+    }
+
+    // a null stock means the copy comes from, or goes back to, the central stock on the book
+
+    private Borrow applyBorrow(Member member, Book book, BranchStock stock) {
+        Borrow borrow = new Borrow();
+        if (stock == null) {
+            book.setAmount(book.getAmount() - 1);
+        } else {
+            stock.setAmount(stock.getAmount() - 1);
+            borrow.setBranchId(stock.getBranchId());
+        }
+
+        borrow.setBook(book);
+        borrow.setMember(member);
+        borrow.setDueDate(LocalDateTime.now().plusDays(loanPeriodDays));
+
+        return borrowRepository.save(borrow);
+    }
+
+    private Borrow applyReturn(Borrow borrow, BranchStock stock) {
         borrow.setReturned(true);
         borrow.setReturnDate(LocalDateTime.now());
 
-        Book book = borrow.getBook();
-        book.setAmount(book.getAmount() + 1);
+        if (stock == null) {
+            Book book = borrow.getBook();
+            book.setAmount(book.getAmount() + 1);
+        } else {
+            stock.setAmount(stock.getAmount() + 1);
+        }
 
         return borrowRepository.save(borrow);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Borrow> getBorrowsByMemberName(String name) {
-        return borrowRepository.findByMember_NameIgnoreCase(name);
+        List<Borrow> borrows = new ArrayList<>(borrowRepository.findByMember_NameIgnoreCase(name));
+
+        borrowHistoryRepository.findByMemberNameIgnoreCase(name).stream()
+                .map(this::toBorrow)
+                .forEach(borrows::add);
+
+        borrows.sort(Comparator.comparing(Borrow::getBorrowDate, Comparator.nullsLast(Comparator.naturalOrder())));
+        return borrows;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getBorrowsByMemberName(String name, Collection<String> fields) {
+        return fieldProjectionRepository.findBorrowsByMemberName(name, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<String> getAllDistinctBorrowedBookTitles() {
-        return borrowRepository.findByReturnedFalse().stream()
-                .map(b -> b.getBook().getTitle())
-                .distinct()
-                .collect(Collectors.toList());
+        AggregationEvent event = new AggregationEvent();
+        event.query = "distinctBorrowedTitles";
+
+        return event.run(() -> {
+            List<Borrow> open = borrowRepository.findByReturnedFalse();
+            List<String> titles = open.stream()
+                    .map(b -> b.getBook().getTitle())
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            event.rowsTouched = open.size();
+            event.resultRows = titles.size();
+            return titles;
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BorrowCountDto> getAllBorrowedBookTitlesWithCount() {
-        return borrowRepository.findByReturnedFalse().stream()
-                .collect(Collectors.groupingBy(
-                        b -> b.getBook().getTitle(),
-                        Collectors.counting()
-                ))
-                .entrySet()
-                .stream()
-                .map(e -> new BorrowCountDto(e.getKey(), e.getValue()))
-                .toList();
+        AggregationEvent event = new AggregationEvent();
+        event.query = "borrowedTitleCounts";
+
+        return event.run(() -> {
+            List<Borrow> open = borrowRepository.findByReturnedFalse();
+            List<BorrowCountDto> counts = open.stream()
+                    .collect(Collectors.groupingBy(
+                            b -> b.getBook().getTitle(),
+                            Collectors.counting()
+                    ))
+                    .entrySet()
+                    .stream()
+                    .map(e -> new BorrowCountDto(e.getKey(), e.getValue()))
+                    .toList();
+
+            event.rowsTouched = open.size();
+            event.resultRows = counts.size();
+            return counts;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Borrow> getOverdueBorrows(LocalDateTime afterDueDate, Long afterId, int size) {
+        if (size < 1 || size > overdueMaxPageSize) {
+            throw new IllegalArgumentException("Size must be between 1 and " + overdueMaxPageSize);
+        }
+
+        if ((afterDueDate == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterDueDate and afterId must be given together");
+        }
+
+        // one extra row tells whether there is a next page, without counting
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Borrow> rows = afterDueDate == null
+                ? borrowRepository.findFirstOverduePage(now, limit)
+                : borrowRepository.findNextOverduePage(now, afterDueDate, afterId, limit);
+
+        return new SliceImpl<>(rows.stream().limit(size).toList(), PageRequest.of(0, size), rows.size() > size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Borrow> getMemberHistory(Long memberId, LocalDate from, LocalDate to, boolean activeOnly,
+                                          LocalDateTime beforeDate, Long beforeId, int size) {
+        if (size < 1 || size > historyMaxPageSize) {
+            throw new IllegalArgumentException("Size must be between 1 and " + historyMaxPageSize);
+        }
+
+        if ((beforeDate == null) != (beforeId == null)) {
+            throw new IllegalArgumentException("beforeDate and beforeId must be given together");
+        }
+
+        memberService.findById(memberId);
+
+        LocalDateTime lower = (from == null ? LocalDate.EPOCH : from).atStartOfDay();
+        LocalDateTime upper = to == null ? LocalDateTime.now().plusDays(1) : to.plusDays(1).atStartOfDay();
+        LocalDateTime cursorDate = beforeDate == null ? upper : beforeDate;
+        long cursorId = beforeId == null ? Long.MAX_VALUE : beforeId;
+
+        // each table contributes at most size + 1 rows, whatever the member's history length;
+        // the set orders the merge and drops a borrow archived between the two queries
+        TreeSet<Borrow> merged = new TreeSet<>(Comparator.comparing(Borrow::getBorrowDate)
+                .thenComparing(Borrow::getId)
+                .reversed());
+        PageRequest limit = PageRequest.of(0, size + 1);
+
+        merged.addAll(borrowRepository.findMemberHistoryPage(
+                memberId, lower, upper, activeOnly, cursorDate, cursorId, limit));
+
+        if (!activeOnly) {
+            borrowHistoryRepository.findMemberHistoryPage(memberId, lower, upper, cursorDate, cursorId, limit).stream()
+                    .map(this::toBorrow)
+                    .forEach(merged::add);
+        }
+
+        List<Borrow> content = merged.stream().limit(size).toList();
+        return new SliceImpl<>(content, PageRequest.of(0, size), merged.size() > size);
+    }
+
+    // archived borrows are detached snapshots, rebuilt as read-only Borrow instances
+
+    private Borrow toBorrow(BorrowHistory history) {
+        Book book = new Book();
+        book.setId(history.getBookId());
+        book.setTitle(history.getBookTitle());
+        book.setAuthor(history.getBookAuthor());
+
+        Member member = new Member();
+        member.setId(history.getMemberId());
+
+        Borrow borrow = new Borrow();
+        borrow.setId(history.getId());
+        borrow.setBook(book);
+        borrow.setMember(member);
+        borrow.setBranchId(history.getBranchId());
+        borrow.setBorrowDate(history.getBorrowDate());
+        borrow.setDueDate(history.getDueDate());
+        borrow.setReturnDate(history.getReturnDate());
+        borrow.setReturned(true);
+
+        return borrow;
+    }
 
+    private record StatKey(Long bookId, Long branchId) {
     }
 }
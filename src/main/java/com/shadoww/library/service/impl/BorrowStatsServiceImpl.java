@@ -0,0 +1,71 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.TopBorrowedBookDto;
+import com.shadoww.library.jfr.AggregationEvent;
+import com.shadoww.library.model.BorrowDailyStat;
+import com.shadoww.library.repository.BorrowDailyStatRepository;
+import com.shadoww.library.service.BorrowStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BorrowStatsServiceImpl implements BorrowStatsService {
+
+    private final BorrowDailyStatRepository borrowDailyStatRepository;
+
+    @Value("${borrow.stats.top.max-results}")
+    private int topMaxResults;
+
+    @Override
+    @Transactional
+    public void recordBorrow(Long bookId, Long branchId) {
+        borrowDailyStatRepository.increment(bookId, statBranch(branchId), LocalDate.now(), 1, 0);
+    }
+
+    @Override
+    @Transactional
+    public void recordReturn(Long bookId, Long branchId) {
+        borrowDailyStatRepository.increment(bookId, statBranch(branchId), LocalDate.now(), 0, 1);
+    }
+
+    @Override
+    @Transactional
+    public void record(Long bookId, Long branchId, long borrows, long returns) {
+        borrowDailyStatRepository.increment(bookId, statBranch(branchId), LocalDate.now(), borrows, returns);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TopBorrowedBookDto> getTopBorrowed(Duration window, int limit) {
+        if (window.isNegative() || window.toDays() < 1) {
+            throw new IllegalArgumentException("Window must be at least one day");
+        }
+
+        if (limit < 1 || limit > topMaxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + topMaxResults);
+        }
+
+        LocalDate from = LocalDate.now().minusDays(window.toDays() - 1);
+
+        AggregationEvent event = new AggregationEvent();
+        event.query = "topBorrowed";
+
+        return event.run(() -> {
+            List<TopBorrowedBookDto> top = borrowDailyStatRepository.findTopBorrowedSince(from, PageRequest.of(0, limit));
+            event.resultRows = top.size();
+            return top;
+        });
+    }
+
+    private static long statBranch(Long branchId) {
+        return branchId == null ? BorrowDailyStat.CENTRAL : branchId;
+    }
+}
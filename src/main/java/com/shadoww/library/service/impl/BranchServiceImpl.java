@@ -0,0 +1,311 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BranchAvailabilityDto;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.model.Branch;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.model.BranchStockId;
+import com.shadoww.library.repository.BranchRepository;
+import com.shadoww.library.repository.BranchStockRepository;
+import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BranchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Branch stock, and a per-branch cache of it for availability reads. A cached amount is evicted
+ * when a transaction that locked its row commits and expires after branch.cache.ttl-ms, which
+ * bounds how stale a read racing such a commit can be. A full cache still refreshes the books it
+ * holds, and drops its expired entries at most once per TTL to make room for new ones. Each branch
+ * has its own cache and meters, created on first use, so branches share no state on their hot path.
+ */
+@Service
+@RequiredArgsConstructor
+public class BranchServiceImpl implements BranchService {
+
+    private final BranchRepository branchRepository;
+    private final BranchStockRepository branchStockRepository;
+    private final BookService bookService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, BranchState> branches = new ConcurrentHashMap<>();
+
+    @Value("${branch.cache.ttl-ms}")
+    private long cacheTtlMs;
+
+    @Value("${branch.cache.max-entries}")
+    private int cacheMaxEntries;
+
+    @Value("${lookup.max-ids}")
+    private int lookupMaxIds;
+
+    @Value("${lookup.chunk-size}")
+    private int lookupChunkSize;
+
+    @Override
+    @Transactional
+    public Branch create(Branch branch) {
+        if (Objects.isNull(branch) || Objects.isNull(branch.getName()) || branch.getName().isBlank()) {
+            throw new IllegalArgumentException("Branch must have name");
+        }
+
+        if (branchRepository.existsByNameIgnoreCase(branch.getName())) {
+            throw new IllegalArgumentException("Branch already exists: " + branch.getName());
+        }
+
+        return branchRepository.save(branch);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Branch> findAll() {
+        return branchRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Branch findById(Long id) {
+        return branchRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Branch not found with id: " + id));
+    }
+
+    @Override
+    @Transactional
+    public BranchStock setCopies(Long branchId, Long bookId, int copies) {
+        if (copies < 0) {
+            throw new IllegalArgumentException("Copies must be 0 or greater");
+        }
+
+        findById(branchId);
+        bookService.findById(bookId);
+
+        BranchStock stock = branchStockRepository.findForUpdate(branchId, bookId)
+                .orElseGet(() -> {
+                    BranchStock created = new BranchStock();
+                    created.setBranchId(branchId);
+                    created.setBookId(bookId);
+                    return created;
+                });
+
+        int onLoan = stock.getTotalCopies() - stock.getAmount();
+        if (copies < onLoan) {
+            throw Rejection.COPIES_ON_LOAN.getException();
+        }
+
+        stock.setAmount(copies - onLoan);
+        stock.setTotalCopies(copies);
+        evictAfterCommit(List.of(stock.key()));
+
+        return branchStockRepository.save(stock);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BranchStock findStockForUpdate(Long branchId, Long bookId) {
+        BranchStock stock = branchStockRepository.findForUpdate(branchId, bookId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "Book " + bookId + " is not stocked at branch " + branchId));
+
+        evictAfterCommit(List.of(stock.key()));
+        return stock;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<BranchStockId, BranchStock> findAllStockForUpdate(Collection<BranchStockId> keys) {
+        Set<Long> branchIds = keys.stream().map(BranchStockId::getBranchId).collect(Collectors.toSet());
+        Set<Long> bookIds = keys.stream().map(BranchStockId::getBookId).collect(Collectors.toSet());
+
+        // the IN lists may also lock a few rows outside the keys, still in key order
+        Map<BranchStockId, BranchStock> stocks = new LinkedHashMap<>();
+        for (BranchStock stock : branchStockRepository.findAllForUpdate(branchIds, bookIds)) {
+            if (keys.contains(stock.key())) {
+                stocks.put(stock.key(), stock);
+            }
+        }
+
+        evictAfterCommit(stocks.keySet());
+        return stocks;
+    }
+
+    // not transactional: a fully cached read doesn't take a connection
+    @Override
+    public Map<Long, BranchAvailabilityDto> findAvailabilityById(Long branchId, List<Long> bookIds) {
+        List<Long> distinct = distinct(bookIds);
+        BranchState branch = state(branchId);
+
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+
+        Map<Long, BranchAvailabilityDto> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long bookId : distinct) {
+            CachedAvailability cached = branch.cache.get(bookId);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                found.put(bookId, cached.availability());
+            } else {
+                misses.add(bookId);
+            }
+        }
+        branch.cacheHits.increment(found.size());
+        branch.cacheMisses.increment(misses.size());
+
+        if (!misses.isEmpty()) {
+            IdBatches.load(misses, lookupMaxIds, lookupChunkSize,
+                    chunk -> branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, chunk),
+                    BranchAvailabilityDto::bookId
+            ).forEach((bookId, availability) -> {
+                branch.cache(bookId, new CachedAvailability(availability, now), ttlNanos);
+                found.put(bookId, availability);
+            });
+        }
+
+        Map<Long, BranchAvailabilityDto> ordered = new LinkedHashMap<>();
+        for (Long bookId : distinct) {
+            BranchAvailabilityDto availability = found.get(bookId);
+            if (availability != null) {
+                ordered.put(bookId, availability);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<BranchAvailabilityDto>> findAvailabilityAcrossBranches(List<Long> bookIds) {
+        List<Long> distinct = distinct(bookIds);
+
+        Map<Long, List<BranchAvailabilityDto>> byBook = new LinkedHashMap<>();
+        distinct.forEach(bookId -> byBook.put(bookId, new ArrayList<>()));
+
+        for (int from = 0; from < distinct.size(); from += lookupChunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + lookupChunkSize, distinct.size()));
+            for (BranchAvailabilityDto availability : branchStockRepository.findAvailableByBookIdIn(chunk)) {
+                byBook.get(availability.bookId()).add(availability);
+            }
+        }
+        return byBook;
+    }
+
+    @Override
+    public void recordBorrow(Long branchId) {
+        BranchState branch = state(branchId);
+        afterCommit(branch.borrows::increment);
+    }
+
+    @Override
+    public void recordReturn(Long branchId) {
+        BranchState branch = state(branchId);
+        afterCommit(branch.returns::increment);
+    }
+
+    private List<Long> distinct(List<Long> ids) {
+        List<Long> distinct = ids.stream().distinct().toList();
+
+        if (distinct.size() > lookupMaxIds) {
+            throw new IllegalArgumentException("At most " + lookupMaxIds + " ids can be requested at once");
+        }
+        return distinct;
+    }
+
+    // only branches that exist get a cache and meters, so request ids can't grow either
+    private BranchState state(Long branchId) {
+        BranchState branch = branches.get(branchId);
+        if (branch != null) {
+            return branch;
+        }
+
+        if (!branchRepository.existsById(branchId)) {
+            throw new EntityNotFoundException("Branch not found with id: " + branchId);
+        }
+        return branches.computeIfAbsent(branchId, BranchState::new);
+    }
+
+    private void evictAfterCommit(Collection<BranchStockId> keys) {
+        List<BranchStockId> evicted = List.copyOf(keys);
+
+        afterCommit(() -> evicted.forEach(key -> {
+            BranchState branch = branches.get(key.getBranchId());
+            if (branch != null) {
+                branch.cache.remove(key.getBookId());
+            }
+        }));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record CachedAvailability(BranchAvailabilityDto availability, long loadedAt) {
+    }
+
+    private final class BranchState {
+
+        private final Map<Long, CachedAvailability> cache = new ConcurrentHashMap<>();
+        private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+        private final Counter cacheHits;
+        private final Counter cacheMisses;
+        private final Counter borrows;
+        private final Counter returns;
+
+        private BranchState(Long branchId) {
+            Tags tags = Tags.of("branch", branchId.toString());
+
+            cacheHits = meterRegistry.counter("library.branch.cache.requests", tags.and("result", "hit"));
+            cacheMisses = meterRegistry.counter("library.branch.cache.requests", tags.and("result", "miss"));
+            borrows = meterRegistry.counter("library.branch.borrows", tags);
+            returns = meterRegistry.counter("library.branch.returns", tags);
+            meterRegistry.gaugeMapSize("library.branch.cache.size", tags, cache);
+        }
+
+        private void cache(Long bookId, CachedAvailability cached, long ttlNanos) {
+            if (cache.size() >= cacheMaxEntries && !cache.containsKey(bookId)) {
+                // one caller per TTL scans the full cache; the others skip caching this book
+                long swept = lastSweep.get();
+                if (cached.loadedAt() - swept < ttlNanos || !lastSweep.compareAndSet(swept, cached.loadedAt())) {
+                    return;
+                }
+
+                cache.values().removeIf(entry -> cached.loadedAt() - entry.loadedAt() >= ttlNanos);
+                if (cache.size() >= cacheMaxEntries) {
+                    return;
+                }
+            }
+
+            cache.put(bookId, cached);
+        }
+    }
+}
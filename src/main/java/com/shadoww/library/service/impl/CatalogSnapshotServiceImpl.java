@@ -0,0 +1,56 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.service.CatalogSnapshot;
+import com.shadoww.library.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the latest catalog snapshot. Each refresh reads the whole catalog in one projection
+ * query and swaps the snapshot in whole, so readers never see a half-built one.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private final BookRepository bookRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile CatalogSnapshot snapshot;
+
+    @PostConstruct
+    void registerMeters() {
+        meterRegistry.gauge("library.catalog.snapshot.age", this,
+                service -> service.snapshot == null ? Double.NaN : service.snapshot.age().toMillis() / 1000.0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refresh() {
+        // taken before the read, so the age never understates how stale the data can be
+        Instant takenAt = Instant.now();
+
+        Map<Long, BookResponseDto> books = new LinkedHashMap<>();
+        for (BookResponseDto book : bookRepository.findAllResponses()) {
+            books.put(book.id(), book);
+        }
+
+        snapshot = new CatalogSnapshot(Collections.unmodifiableMap(books), takenAt);
+    }
+
+    @Override
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+}
@@ -0,0 +1,203 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.ChangeDto;
+import com.shadoww.library.dto.ChangePageDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.model.ChangeLogEntry;
+import com.shadoww.library.model.ChangeOperation;
+import com.shadoww.library.repository.ChangeLogRepository;
+import com.shadoww.library.repository.ChangeSequenceRepository;
+import com.shadoww.library.service.ChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Entries are written by the mutating service inside its own transaction, so a change
+ * is in the feed exactly when it is committed. Seqs come from {@link ChangeSeqs} without
+ * any row lock, so transactions may commit out of seq order; readers only see entries up
+ * to its watermark, below which no entry can still appear. Long-polling readers park on
+ * a future that is completed once a transaction that recorded a change on this node has
+ * completed; on other nodes they simply time out and poll again.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeSequenceRepository changeSequenceRepository;
+
+    private final AtomicReference<CompletableFuture<Void>> nextChange = new AtomicReference<>(new CompletableFuture<>());
+
+    @Value("${changes.max-limit}")
+    private int maxLimit;
+
+    @Value("${changes.max-wait-ms}")
+    private long maxWaitMs;
+
+    @Value("${changes.seq-block-size}")
+    private int seqBlockSize;
+
+    private ChangeSeqs seqs;
+
+    @PostConstruct
+    void start() {
+        long lastSeq = Objects.requireNonNullElse(changeLogRepository.findMaxSeq(), 0L);
+
+        changeSequenceRepository.createIfMissing(lastSeq + 1, seqBlockSize);
+        seqs = new ChangeSeqs(lastSeq, seqBlockSize, changeSequenceRepository::nextBlock);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpsert(ChangeEntityType entityType, Long entityId) {
+        record(entityType, entityId, ChangeOperation.UPSERT);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDelete(ChangeEntityType entityType, Long entityId) {
+        record(entityType, entityId, ChangeOperation.DELETE);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpserts(ChangeEntityType entityType, Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        long[] taken = take(entityIds.size());
+
+        List<ChangeLogEntry> entries = new ArrayList<>(entityIds.size());
+        int i = 0;
+        for (Long entityId : entityIds) {
+            entries.add(entry(taken[i++], entityType, entityId, ChangeOperation.UPSERT));
+        }
+
+        changeLogRepository.saveAll(entries);
+    }
+
+    // read on the primary: the watermark is the primary's, a lagging replica could be missing
+    // entries below it that the reader would then skip for good
+    @Override
+    @Transactional
+    public ChangePageDto getChanges(long since, int limit) {
+        validate(since, limit);
+
+        List<ChangeLogEntry> entries = changeLogRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(
+                since, seqs.watermark(), PageRequest.of(0, limit + 1));
+
+        boolean hasMore = entries.size() > limit;
+        List<ChangeDto> changes = entries.stream()
+                .limit(limit)
+                .map(this::toDto)
+                .toList();
+
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+
+        return new ChangePageDto(changes, nextSince, hasMore);
+    }
+
+    @Override
+    public CompletableFuture<ChangePageDto> awaitChanges(long since, int limit, Duration maxWait) {
+        validate(since, limit);
+
+        // taken before the query, so a commit landing in between still wakes this reader
+        CompletableFuture<Void> next = nextChange.get();
+
+        ChangePageDto page = getChanges(since, limit);
+        if (!page.changes().isEmpty() || maxWait.isZero() || maxWait.isNegative()) {
+            return CompletableFuture.completedFuture(page);
+        }
+
+        long waitMs = Math.min(maxWait.toMillis(), maxWaitMs);
+
+        return next.copy()
+                .orTimeout(waitMs, TimeUnit.MILLISECONDS)
+                .handleAsync((ignored, timeout) -> timeout == null ? getChanges(since, limit) : page);
+    }
+
+    @Override
+    public long getVisibleSeq() {
+        return seqs.watermark();
+    }
+
+    @Override
+    @Transactional
+    public int compact() {
+        long watermark = seqs.watermark();
+        if (watermark == 0) {
+            return 0;
+        }
+
+        return changeLogRepository.deleteSupersededUpTo(watermark);
+    }
+
+    private void record(ChangeEntityType entityType, Long entityId, ChangeOperation operation) {
+        changeLogRepository.save(entry(take(1)[0], entityType, entityId, operation));
+    }
+
+    // the seqs stay pending until the transaction completes either way; readers are woken
+    // only after that, so the commit they are woken for is already below the watermark
+    private long[] take(int count) {
+        long[] taken = seqs.take(count);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                seqs.settle(taken);
+                if (status == STATUS_COMMITTED) {
+                    nextChange.getAndSet(new CompletableFuture<>()).complete(null);
+                }
+            }
+        });
+        return taken;
+    }
+
+    private ChangeLogEntry entry(long seq, ChangeEntityType entityType, Long entityId, ChangeOperation operation) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setSeq(seq);
+        entry.setEntityType(entityType);
+        entry.setEntityId(entityId);
+        entry.setOperation(operation);
+        entry.setChangedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    private void validate(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Since must not be negative");
+        }
+
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+    }
+
+    private ChangeDto toDto(ChangeLogEntry entry) {
+        return new ChangeDto(
+                entry.getSeq(),
+                entry.getEntityType(),
+                entry.getEntityId(),
+                entry.getOperation(),
+                entry.getChangedAt()
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.shadoww.library.service.impl;
+
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Change log seqs handed out from blocks of the database sequence, and the watermark up to which
+ * every seq is settled. Seqs are taken in any order and their transactions commit in any order,
+ * so a seq stays pending from the moment it is taken until its transaction completes. Everything
+ * below the lowest pending seq is either committed or rolled back and will never appear later:
+ * that is the highest seq readers may move past.
+ * <p>
+ * Only this node's writers are tracked; the feed assumes the one writer node the app runs as.
+ */
+final class ChangeSeqs {
+
+    private final int blockSize;
+    private final LongSupplier nextBlock;
+
+    private final TreeSet<Long> pending = new TreeSet<>();
+
+    private long next;
+    private long blockEnd;
+    private long lastTaken;
+
+    ChangeSeqs(long lastTaken, int blockSize, LongSupplier nextBlock) {
+        this.lastTaken = lastTaken;
+        this.blockSize = blockSize;
+        this.nextBlock = nextBlock;
+    }
+
+    // taking and marking pending is one step, so the watermark never passes a seq being taken
+    synchronized long[] take(int count) {
+        long[] seqs = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (next == blockEnd) {
+                next = nextBlock.getAsLong();
+                blockEnd = next + blockSize;
+            }
+
+            seqs[i] = next++;
+            pending.add(seqs[i]);
+            lastTaken = Math.max(lastTaken, seqs[i]);
+        }
+        return seqs;
+    }
+
+    synchronized void settle(long[] seqs) {
+        for (long seq : seqs) {
+            pending.remove(seq);
+        }
+    }
+
+    synchronized long watermark() {
+        return pending.isEmpty() ? lastTaken : pending.first() - 1;
+    }
+}
@@ -0,0 +1,120 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.AlsoBorrowedDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Co-borrow counts per book, kept with Space-Saving in {@code candidates} slots of parallel
+ * primitive arrays, so memory per book is fixed however many books it was borrowed with. Once the
+ * slots are full, a new neighbour takes over the least counted slot and inherits its count, so a
+ * count overestimates by at most the smallest count in the slots. Each update re-ranks the slots
+ * and publishes the top {@code topK}, so a read is one map lookup.
+ */
+final class CoBorrowIndex {
+
+    private final int topK;
+    private final int candidates;
+    private final Map<Long, Neighbours> books = new ConcurrentHashMap<>();
+
+    CoBorrowIndex(int topK, int candidates) {
+        this.topK = topK;
+        this.candidates = Math.max(topK, candidates);
+    }
+
+    // one borrow of bookId by a member who also borrowed others
+    void addBorrow(long bookId, long[] others) {
+        if (others.length == 0) {
+            return;
+        }
+
+        neighbours(bookId).add(others, -1);
+        for (long other : others) {
+            neighbours(other).add(new long[]{bookId}, -1);
+        }
+    }
+
+    // every pair of one member's distinct books, each direction counted once
+    void addMember(long[] bookIds) {
+        if (bookIds.length < 2) {
+            return;
+        }
+
+        for (int i = 0; i < bookIds.length; i++) {
+            neighbours(bookIds[i]).add(bookIds, bookIds[i]);
+        }
+    }
+
+    List<AlsoBorrowedDto> top(long bookId) {
+        Neighbours neighbours = books.get(bookId);
+        return neighbours == null ? List.of() : neighbours.top;
+    }
+
+    int size() {
+        return books.size();
+    }
+
+    private Neighbours neighbours(long bookId) {
+        return books.computeIfAbsent(bookId, id -> new Neighbours(candidates));
+    }
+
+    private final class Neighbours {
+
+        private final long[] ids;
+        private final int[] counts;
+        private int size;
+
+        private volatile List<AlsoBorrowedDto> top = List.of();
+
+        private Neighbours(int candidates) {
+            ids = new long[candidates];
+            counts = new int[candidates];
+        }
+
+        synchronized void add(long[] others, long self) {
+            for (long other : others) {
+                if (other != self) {
+                    increment(other);
+                }
+            }
+            top = rank();
+        }
+
+        private void increment(long id) {
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size] = 1;
+                size++;
+            } else {
+                ids[min] = id;
+                counts[min]++;
+            }
+        }
+
+        private List<AlsoBorrowedDto> rank() {
+            List<AlsoBorrowedDto> ranked = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ranked.add(new AlsoBorrowedDto(ids[i], counts[i]));
+            }
+            ranked.sort((a, b) -> a.count() != b.count()
+                    ? Long.compare(b.count(), a.count())
+                    : Long.compare(a.bookId(), b.bookId()));
+
+            return List.copyOf(ranked.subList(0, Math.min(topK, ranked.size())));
+        }
+    }
+}
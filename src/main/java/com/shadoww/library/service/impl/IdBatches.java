@@ -0,0 +1,49 @@
+package com.shadoww.library.service.impl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads entities for a list of ids with one IN-list query per chunk
+ * and hands them back in request order.
+ */
+final class IdBatches {
+
+    private IdBatches() {
+    }
+
+    /**
+     * @return found items keyed by id, in the order the ids were requested; missing ids are absent
+     */
+    static <T> Map<Long, T> load(List<Long> ids,
+                                 int maxIds,
+                                 int chunkSize,
+                                 Function<List<Long>, List<T>> loader,
+                                 Function<T, Long> idOf) {
+        List<Long> distinct = ids.stream().distinct().toList();
+
+        if (distinct.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids can be requested at once");
+        }
+
+        Map<Long, T> byId = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            for (T item : loader.apply(chunk)) {
+                byId.put(idOf.apply(item), item);
+            }
+        }
+
+        Map<Long, T> ordered = new LinkedHashMap<>();
+        for (Long id : distinct) {
+            T item = byId.get(id);
+            if (item != null) {
+                ordered.put(id, item);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,75 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.ImportErrorDto;
+import com.shadoww.library.dto.ImportReportDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of one import. Only the first {@code maxErrors} errors are kept,
+ * the rest are counted.
+ */
+@Slf4j
+final class ImportProgress {
+
+    private final String target;
+    private final int maxErrors;
+    private final long startedAt = System.nanoTime();
+    private final List<ImportErrorDto> errors = new ArrayList<>();
+
+    private long rowsRead;
+    private long rowsApplied;
+    private long rowsRejected;
+    private long chunks;
+
+    ImportProgress(String target, int maxErrors) {
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+    void read() {
+        rowsRead++;
+    }
+
+    void reject(long line, String message) {
+        reject(line, 1, message);
+    }
+
+    void reject(long line, long rows, String message) {
+        rowsRejected += rows;
+        addError(line, message);
+    }
+
+    void chunkApplied(long rows) {
+        rowsApplied += rows;
+        logChunk();
+    }
+
+    void chunkRejected(long firstLine, long lastLine, long rows, String message) {
+        rowsRejected += rows;
+        addError(firstLine, "Lines " + firstLine + "-" + lastLine + " rejected: " + message);
+        logChunk();
+    }
+
+    ImportReportDto toReport() {
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Import of {} finished: {} read, {} applied, {} rejected in {} ms",
+                target, rowsRead, rowsApplied, rowsRejected, elapsedMillis);
+
+        return new ImportReportDto(rowsRead, rowsApplied, rowsRejected, List.copyOf(errors), elapsedMillis);
+    }
+
+    private void addError(long line, String message) {
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportErrorDto(line, message));
+        }
+    }
+
+    private void logChunk() {
+        chunks++;
+        log.info("Import of {}: chunk {} done, {} read, {} applied, {} rejected",
+                target, chunks, rowsRead, rowsApplied, rowsRejected);
+    }
+}
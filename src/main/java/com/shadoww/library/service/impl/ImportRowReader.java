@@ -0,0 +1,137 @@
+package com.shadoww.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.service.ImportFormat;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads CSV or NDJSON import rows one line at a time, so memory stays bounded
+ * by a single line regardless of the stream size.
+ */
+final class ImportRowReader implements Closeable {
+
+    record Row(long line, String[] values, String error) {
+
+        boolean isValid() {
+            return error == null;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final String[] columns;
+    private final ObjectMapper objectMapper;
+
+    private long line;
+
+    ImportRowReader(InputStream in, ImportFormat format, String[] columns, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.columns = columns;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next non-blank row, or {@code null} at the end of the stream
+     */
+    Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+
+            if (text.isBlank() || (format == ImportFormat.CSV && line == 1 && isHeader(text))) {
+                continue;
+            }
+
+            return format == ImportFormat.CSV ? parseCsv(text) : parseJson(text);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // a header names the first column exactly; a data row may merely start with that word
+    private boolean isHeader(String text) {
+        return splitCsv(text).get(0).trim().toLowerCase(Locale.ROOT).equals(columns[0]);
+    }
+
+    private Row parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+
+        if (fields.size() > columns.length) {
+            return new Row(line, null, "Expected at most " + columns.length + " columns but got " + fields.size());
+        }
+
+        String[] values = new String[columns.length];
+        for (int i = 0; i < fields.size(); i++) {
+            values[i] = fields.get(i).trim();
+        }
+        return new Row(line, values, null);
+    }
+
+    private Row parseJson(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            return new Row(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+
+        if (!node.isObject()) {
+            return new Row(line, null, "Expected a JSON object");
+        }
+
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            JsonNode value = node.get(columns[i]);
+            values[i] = value == null || value.isNull() ? null : value.asText();
+        }
+        return new Row(line, values, null);
+    }
+
+    // RFC 4180 fields within a single line: quoted fields may contain commas and "" escapes
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+}
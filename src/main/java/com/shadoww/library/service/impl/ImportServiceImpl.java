@@ -0,0 +1,248 @@
+package com.shadoww.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.dto.BookRequestDto;
+import com.shadoww.library.dto.ImportReportDto;
+import com.shadoww.library.dto.MemberRequestDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.repository.BookImportRow;
+import com.shadoww.library.repository.CatalogBulkRepository;
+import com.shadoww.library.service.ChangeFeedService;
+import com.shadoww.library.service.ImportFormat;
+import com.shadoww.library.service.ImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    private static final String[] BOOK_COLUMNS = {"title", "author", "copies"};
+    private static final String[] MEMBER_COLUMNS = {"name"};
+
+    private final CatalogBulkRepository catalogBulkRepository;
+    private final ChangeFeedService changeFeedService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-errors}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportReportDto importBooks(InputStream in, ImportFormat format) {
+        ImportProgress progress = new ImportProgress("books", maxReportedErrors);
+        Map<String, PendingBook> books = new LinkedHashMap<>();
+        PendingChunk chunk = new PendingChunk();
+
+        try (ImportRowReader reader = new ImportRowReader(in, format, BOOK_COLUMNS, objectMapper)) {
+            ImportRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                progress.read();
+
+                BookImportRow book = row.isValid() ? toBook(row, progress) : reject(row, progress);
+                if (book == null) {
+                    continue;
+                }
+
+                // de-duplicate within the chunk, summing copies of the same title and author
+                books.merge(key(book), new PendingBook(book, row.line(), 1), PendingBook::merge);
+                chunk.add(row.line());
+
+                if (books.size() >= chunkSize) {
+                    flushBooks(books, chunk, progress);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        flushBooks(books, chunk, progress);
+        return progress.toReport();
+    }
+
+    @Override
+    public ImportReportDto importMembers(InputStream in, ImportFormat format) {
+        ImportProgress progress = new ImportProgress("members", maxReportedErrors);
+        List<String> names = new ArrayList<>(chunkSize);
+        PendingChunk chunk = new PendingChunk();
+
+        try (ImportRowReader reader = new ImportRowReader(in, format, MEMBER_COLUMNS, objectMapper)) {
+            ImportRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                progress.read();
+
+                if (!row.isValid()) {
+                    reject(row, progress);
+                    continue;
+                }
+
+                MemberRequestDto member = new MemberRequestDto(row.values()[0]);
+                String violations = violations(validator.validate(member));
+                if (violations != null) {
+                    progress.reject(row.line(), violations);
+                    continue;
+                }
+
+                names.add(member.name());
+                chunk.add(row.line());
+
+                if (names.size() >= chunkSize) {
+                    flushMembers(names, chunk, progress);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        flushMembers(names, chunk, progress);
+        return progress.toReport();
+    }
+
+    private BookImportRow toBook(ImportRowReader.Row row, ImportProgress progress) {
+        String[] values = row.values();
+
+        BookRequestDto book = new BookRequestDto(values[0], values[1]);
+        String violations = violations(validator.validate(book));
+        if (violations != null) {
+            progress.reject(row.line(), violations);
+            return null;
+        }
+
+        int copies;
+        try {
+            copies = values[2] == null || values[2].isBlank() ? 1 : Integer.parseInt(values[2].trim());
+        } catch (NumberFormatException ex) {
+            progress.reject(row.line(), "Copies must be a number");
+            return null;
+        }
+
+        if (copies < 1) {
+            progress.reject(row.line(), "Copies must be at least 1");
+            return null;
+        }
+
+        return new BookImportRow(book.title(), book.author(), copies);
+    }
+
+    private BookImportRow reject(ImportRowReader.Row row, ImportProgress progress) {
+        progress.reject(row.line(), row.error());
+        return null;
+    }
+
+    private void flushBooks(Map<String, PendingBook> books, PendingChunk chunk, ImportProgress progress) {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        try {
+            applyBooks(books.values().stream().map(PendingBook::row).toList());
+            progress.chunkApplied(chunk.rows);
+        } catch (DataAccessException ex) {
+            // e.g. a title already taken by another author: apply the rows one by one,
+            // so only the offending lines are rejected
+            long applied = 0;
+            for (PendingBook book : books.values()) {
+                try {
+                    applyBooks(List.of(book.row()));
+                    applied += book.rows();
+                } catch (DataAccessException rowEx) {
+                    progress.reject(book.line(), book.rows(), rowEx.getMostSpecificCause().getMessage());
+                }
+            }
+            progress.chunkApplied(applied);
+        }
+
+        books.clear();
+        chunk.reset();
+    }
+
+    // the books go to the change feed in the same transaction, so incremental
+    // inventory audits re-check them like books changed through the API
+    private void applyBooks(List<BookImportRow> rows) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                changeFeedService.recordUpserts(ChangeEntityType.BOOK, catalogBulkRepository.upsertBooks(rows)));
+    }
+
+    private void flushMembers(List<String> names, PendingChunk chunk, ImportProgress progress) {
+        if (names.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<String> chunkNames = List.copyOf(names);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    changeFeedService.recordUpserts(ChangeEntityType.MEMBER, catalogBulkRepository.insertMembers(chunkNames)));
+            progress.chunkApplied(chunk.rows);
+        } catch (DataAccessException ex) {
+            progress.chunkRejected(chunk.firstLine, chunk.lastLine, chunk.rows, ex.getMostSpecificCause().getMessage());
+        }
+
+        names.clear();
+        chunk.reset();
+    }
+
+    private static String key(BookImportRow book) {
+        return book.title().toLowerCase(Locale.ROOT) + '\u0000' + book.author().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> String violations(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // a de-duplicated book, its first source line and the number of rows summed into it
+
+    private record PendingBook(BookImportRow row, long line, long rows) {
+
+        PendingBook merge(PendingBook added) {
+            BookImportRow summed = new BookImportRow(row.title(), row.author(), row.copies() + added.row().copies());
+            return new PendingBook(summed, line, rows + added.rows());
+        }
+    }
+
+    // source lines of the rows buffered for the next flush, for error reporting
+
+    private static final class PendingChunk {
+        private long rows;
+        private long firstLine;
+        private long lastLine;
+
+        void add(long line) {
+            if (rows++ == 0) {
+                firstLine = line;
+            }
+            lastLine = line;
+        }
+
+        void reset() {
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.InventoryAuditReportDto;
+import com.shadoww.library.dto.InventoryCheckDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.repository.ChangeLogRepository;
+import com.shadoww.library.service.ChangeFeedService;
+import com.shadoww.library.service.InventoryAuditService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies {@code amount + open borrows == totalCopies} per book. The first run checks every book,
+ * later runs only the books with a change log entry past the watermark. Ids are split into
+ * contiguous chunks checked in parallel, each by one short read-only query.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryAuditServiceImpl implements InventoryAuditService {
+
+    private final BookRepository bookRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeFeedService changeFeedService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, InventoryCheckDto> discrepancies = new ConcurrentSkipListMap<>();
+
+    @Value("${inventory.audit.chunk-size}")
+    private int chunkSize;
+
+    @Value("${inventory.audit.parallelism}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    // change log seq up to which every changed book has been checked; negative until the first full scan
+    private long watermark = -1;
+
+    private volatile InventoryAuditReportDto lastReport;
+
+    @PostConstruct
+    void start() {
+        pool = new ForkJoinPool(parallelism);
+        meterRegistry.gaugeMapSize("library.inventory.discrepancies", Tags.empty(), discrepancies);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public synchronized InventoryAuditReportDto audit() {
+        long started = System.nanoTime();
+
+        // no change at or below the watermark is still pending, so none can show up behind upTo later
+        long upTo = changeFeedService.getVisibleSeq();
+        boolean fullScan = watermark < 0;
+
+        List<Long> ids = fullScan
+                ? bookRepository.findAllIds()
+                : changeLogRepository.findChangedEntityIds(ChangeEntityType.BOOK, watermark, upTo)
+                        .stream().sorted().toList();
+
+        Map<Long, InventoryCheckDto> checked = new HashMap<>();
+        for (InventoryCheckDto check : pool.invoke(new CheckChunk(ids))) {
+            checked.put(check.bookId(), check);
+        }
+
+        for (Long id : ids) {
+            InventoryCheckDto check = checked.get(id);
+
+            if (Objects.isNull(check) || check.balanced()) {
+                discrepancies.remove(id);
+            } else {
+                discrepancies.put(id, check);
+            }
+        }
+
+        watermark = upTo;
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        InventoryAuditReportDto report = new InventoryAuditReportDto(LocalDateTime.now(), fullScan, upTo,
+                ids.size(), durationMs, List.copyOf(discrepancies.values()));
+        lastReport = report;
+
+        if (!discrepancies.isEmpty()) {
+            log.warn("Inventory audit found {} books whose stock and open borrows don't add up to their copies: {}",
+                    discrepancies.size(), discrepancies.keySet());
+        }
+
+        return report;
+    }
+
+    @Override
+    public Optional<InventoryAuditReportDto> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    private class CheckChunk extends RecursiveTask<List<InventoryCheckDto>> {
+
+        private final List<Long> ids;
+
+        CheckChunk(List<Long> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        protected List<InventoryCheckDto> compute() {
+            if (ids.size() <= chunkSize) {
+                return ids.isEmpty() ? List.of() : bookRepository.findInventoryByIdIn(ids);
+            }
+
+            int middle = ids.size() / 2;
+            CheckChunk left = new CheckChunk(ids.subList(0, middle));
+            left.fork();
+
+            List<InventoryCheckDto> result = new ArrayList<>(new CheckChunk(ids.subList(middle, ids.size())).compute());
+            result.addAll(left.join());
+            return result;
+        }
+    }
+}
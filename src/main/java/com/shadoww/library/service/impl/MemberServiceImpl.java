@@ -1,16 +1,25 @@
 package com.shadoww.library.service.impl;
 
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.model.ChangeEntityType;
 import com.shadoww.library.model.Member;
 import com.shadoww.library.repository.BorrowRepository;
 import com.shadoww.library.repository.MemberRepository;
+import com.shadoww.library.service.ChangeFeedService;
 import com.shadoww.library.service.MemberService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +27,13 @@ public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     private final BorrowRepository borrowRepository;
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${lookup.max-ids}")
+    private int lookupMaxIds;
+
+    @Value("${lookup.chunk-size}")
+    private int lookupChunkSize;
 
     @Override
     @Transactional
@@ -25,7 +41,9 @@ public class MemberServiceImpl implements MemberService {
 
         validate(member);
 
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        changeFeedService.recordUpsert(ChangeEntityType.MEMBER, saved.getId());
+        return saved;
     }
 
     @Override
@@ -38,7 +56,9 @@ public class MemberServiceImpl implements MemberService {
 
         existingMember.setName(updated.getName());
 
-        return memberRepository.save(existingMember);
+        Member saved = memberRepository.save(existingMember);
+        changeFeedService.recordUpsert(ChangeEntityType.MEMBER, saved.getId());
+        return saved;
     }
 
     @Override
@@ -48,23 +68,46 @@ public class MemberServiceImpl implements MemberService {
         Member existingMember = findById(id);
 
         if (!borrowRepository.findByMemberAndReturnedFalse(existingMember).isEmpty()) {
-            throw new IllegalStateException("Cannot delete member with borrowed books");
+            throw Rejection.MEMBER_HAS_BORROWS.getException();
         }
 
         memberRepository.delete(existingMember);
+        changeFeedService.recordDelete(ChangeEntityType.MEMBER, id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Member findById(Long id) {
         return memberRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Member not found with id: " + id));
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Member> findAllByIdForUpdate(Collection<Long> ids) {
+        return memberRepository.findAllByIdForUpdate(ids).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Member findByIdForUpdate(Long id) {
+        return memberRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Member not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Member> findAll() {
         return memberRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Member> findAllById(List<Long> ids) {
+        return IdBatches.load(ids, lookupMaxIds, lookupChunkSize, memberRepository::findAllById, Member::getId);
+    }
+
     private void validate(Member member) {
         if(Objects.isNull(member)) {
             throw new IllegalArgumentException("Member cannot be null");
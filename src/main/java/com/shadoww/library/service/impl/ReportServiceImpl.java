@@ -0,0 +1,277 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.OverdueBorrowDto;
+import com.shadoww.library.dto.ReportJobDto;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.OverdueBorrowView;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.ReportService;
+import com.shadoww.library.service.ReportStatus;
+import com.shadoww.library.service.ReportType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs heavy reports on a dedicated, bounded pool instead of request threads.
+ * A full queue rejects new submissions; finished results are kept until they expire,
+ * and past {@code report.max-retained-results} the oldest finished one is dropped early.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private static final List<String> MEMBER_HISTORY_FIELDS =
+            List.of("bookTitle", "bookAuthor", "borrowDate", "returnDate", "returned");
+
+    private static final int OVERDUE_CHUNK_SIZE = 1000;
+
+    private final BorrowService borrowService;
+    private final BorrowRepository borrowRepository;
+
+    private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    // finished jobs in completion order, guarded by itself
+    private final Deque<ReportJob> finished = new ArrayDeque<>();
+
+    @Value("${report.executor.threads}")
+    private int threads;
+
+    @Value("${report.executor.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${report.result-ttl-ms}")
+    private long resultTtlMs;
+
+    @Value("${report.max-retained-results}")
+    private int maxRetainedResults;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void startExecutor() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("report-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ReportJobDto submit(ReportType type, String memberName) {
+        Callable<Object> report = switch (type) {
+            case MEMBER_HISTORY -> {
+                if (Objects.isNull(memberName) || memberName.isBlank()) {
+                    throw new IllegalArgumentException("Member name is required for " + type);
+                }
+                yield () -> borrowService.getBorrowsByMemberName(memberName, MEMBER_HISTORY_FIELDS);
+            }
+            case TITLE_COUNTS -> borrowService::getAllBorrowedBookTitlesWithCount;
+            case OVERDUE -> this::overdue;
+        };
+
+        ReportJob job = new ReportJob(UUID.randomUUID(), type);
+        jobs.put(job.id, job);
+
+        try {
+            job.future = executor.submit(() -> run(job, report));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id);
+            throw new RejectedExecutionException("Too many report jobs in progress, try again later", ex);
+        } catch (RuntimeException ex) {
+            jobs.remove(job.id);
+            throw ex;
+        }
+
+        return job.toDto();
+    }
+
+    @Override
+    public ReportJobDto getJob(UUID id) {
+        return find(id).toDto();
+    }
+
+    @Override
+    public Optional<Object> getResult(UUID id) {
+        ReportJob job = find(id);
+
+        synchronized (job) {
+            return switch (job.status) {
+                case QUEUED, RUNNING -> Optional.empty();
+                case DONE -> Optional.of(job.result);
+                case FAILED -> throw new IllegalStateException("Report failed: " + job.error);
+                case CANCELLED -> throw new IllegalStateException("Report was cancelled");
+            };
+        }
+    }
+
+    @Override
+    public ReportJobDto cancel(UUID id) {
+        ReportJob job = find(id);
+
+        Future<?> future = job.future;
+        if (finish(job, ReportStatus.CANCELLED, null, null) && future != null) {
+            future.cancel(true);
+        }
+
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${report.eviction-interval-ms}")
+    public void evictExpired() {
+        LocalDateTime expiry = LocalDateTime.now().minus(Duration.ofMillis(resultTtlMs));
+
+        jobs.values().removeIf(job -> job.isExpired(expiry));
+        synchronized (finished) {
+            finished.removeIf(job -> job.isExpired(expiry));
+        }
+    }
+
+    private void run(ReportJob job, Callable<Object> report) {
+        if (!job.start()) {
+            return;
+        }
+
+        try {
+            finish(job, ReportStatus.DONE, report.call(), null);
+        } catch (CancellationException ex) {
+            finish(job, ReportStatus.CANCELLED, null, null);
+        } catch (Exception ex) {
+            log.warn("Report {} of type {} failed", job.id, job.type, ex);
+            finish(job, ReportStatus.FAILED, null, ex.getMessage());
+        }
+    }
+
+    private boolean finish(ReportJob job, ReportStatus status, Object result, String error) {
+        if (!job.finish(status, result, error)) {
+            return false;
+        }
+
+        synchronized (finished) {
+            finished.addLast(job);
+            while (finished.size() > maxRetainedResults) {
+                ReportJob oldest = finished.removeFirst();
+                jobs.remove(oldest.id);
+                log.debug("Dropped result of report {} to stay within {} retained results", oldest.id, maxRetainedResults);
+            }
+        }
+
+        return true;
+    }
+
+    // walks the overdue loans in keyset chunks, each in its own short read transaction
+
+    private List<OverdueBorrowDto> overdue() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable chunk = PageRequest.of(0, OVERDUE_CHUNK_SIZE);
+
+        List<OverdueBorrowDto> rows = new ArrayList<>();
+        List<OverdueBorrowView> overdue = borrowRepository.findFirstOverdueChunk(now, chunk);
+
+        while (!overdue.isEmpty()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+
+            for (OverdueBorrowView borrow : overdue) {
+                rows.add(new OverdueBorrowDto(borrow.getId(), borrow.getBookId(), borrow.getMemberId(), borrow.getDueDate()));
+            }
+
+            if (overdue.size() < OVERDUE_CHUNK_SIZE) {
+                break;
+            }
+
+            OverdueBorrowView last = overdue.get(overdue.size() - 1);
+            overdue = borrowRepository.findNextOverdueChunk(now, last.getDueDate(), last.getId(), chunk);
+        }
+
+        return rows;
+    }
+
+    private ReportJob find(UUID id) {
+        ReportJob job = jobs.get(id);
+
+        if (job == null) {
+            throw new EntityNotFoundException("Report not found or expired with id: " + id);
+        }
+
+        return job;
+    }
+
+    private static final class ReportJob {
+        private final UUID id;
+        private final ReportType type;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile Future<?> future;
+
+        private ReportStatus status = ReportStatus.QUEUED;
+        private LocalDateTime completedAt;
+        private Object result;
+        private String error;
+
+        private ReportJob(UUID id, ReportType type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        synchronized boolean start() {
+            if (status != ReportStatus.QUEUED) {
+                return false;
+            }
+            status = ReportStatus.RUNNING;
+            return true;
+        }
+
+        synchronized boolean finish(ReportStatus finalStatus, Object result, String error) {
+            if (status.isFinished()) {
+                return false;
+            }
+            this.status = finalStatus;
+            this.result = result;
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+            return true;
+        }
+
+        synchronized boolean isExpired(LocalDateTime expiry) {
+            return status.isFinished() && completedAt.isBefore(expiry);
+        }
+
+        synchronized ReportJobDto toDto() {
+            return new ReportJobDto(id, type, status, submittedAt, completedAt, error);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.TrendingBookDto;
+import com.shadoww.library.service.CatalogSnapshot;
+import com.shadoww.library.service.CatalogSnapshotService;
+import com.shadoww.library.service.TrendingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trending books over the last window-ms, from a {@link TrendingSketch} whose counts halve every
+ * half-life-ms. A book is listed while its decayed count is at least that of one borrow made a
+ * window ago, so a single borrow drops off once it is older than the window. Titles come from the
+ * catalog snapshot; neither borrows nor reads touch the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingServiceImpl implements TrendingService {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${trending.window-ms}")
+    private long windowMs;
+
+    @Value("${trending.half-life-ms}")
+    private long halfLifeMs;
+
+    @Value("${trending.sketch.width}")
+    private int width;
+
+    @Value("${trending.sketch.depth}")
+    private int depth;
+
+    @Value("${trending.slots}")
+    private int slots;
+
+    @Value("${trending.max-results}")
+    private int maxResults;
+
+    private TrendingSketch sketch;
+    private double minBorrows;
+
+    @PostConstruct
+    void start() {
+        sketch = new TrendingSketch(width, depth, slots, halfLifeMs, nowMs());
+        minBorrows = Math.pow(2, -(double) windowMs / halfLifeMs);
+    }
+
+    @Override
+    public void recordBorrow(Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sketch.add(bookId, nowMs());
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sketch.add(bookId, nowMs());
+            }
+        });
+    }
+
+    @Override
+    public List<TrendingBookDto> findTrending(int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+
+        Optional<CatalogSnapshot> snapshot = catalogSnapshotService.getSnapshot();
+
+        return sketch.top(limit, minBorrows, nowMs()).stream()
+                .map(entry -> new TrendingBookDto(
+                        entry.bookId(),
+                        snapshot.flatMap(s -> s.findById(entry.bookId())).map(BookResponseDto::title).orElse(null),
+                        entry.count()
+                ))
+                .toList();
+    }
+
+    private static long nowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+}
@@ -0,0 +1,134 @@
+package com.shadoww.library.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exponentially decayed borrow counts, in a Count-Min sketch of {@code depth} rows of {@code width}
+ * counters, and the {@code slots} books with the highest estimates. Decay is applied forward: a borrow
+ * at time t adds {@code 2^((t - landmark) / halfLife)}, so stored counts never need aging and are
+ * scaled down to the current time only when read. When the weights get large, every counter is
+ * rescaled and the landmark moved up.
+ * <p>
+ * Estimates never undercount. With probability at least {@code 1 - e^-depth}, a book's estimate
+ * exceeds its decayed count by at most {@code e / width} of the decayed borrows of all books.
+ * A book enters the slots when its estimate beats the lowest one held. All weights decay alike, so
+ * a book pushed out can only climb back by being borrowed again, and that puts it back in.
+ */
+final class TrendingSketch {
+
+    // rescale well before doubles lose range: 2^64 is far from 2^1023
+    private static final double RESCALE_EXPONENT = 64;
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    record Entry(long bookId, double count) {
+    }
+
+    private final int width;
+    private final double[][] counters;
+    private final double halfLifeMs;
+
+    private final long[] slotIds;
+    private final double[] slotWeights;
+    private int slotCount;
+
+    private long landmarkMs;
+
+    TrendingSketch(int width, int depth, int slots, long halfLifeMs, long nowMs) {
+        if (depth > SEEDS.length) {
+            throw new IllegalArgumentException("Trending sketch depth can be at most " + SEEDS.length);
+        }
+
+        this.width = width;
+        this.counters = new double[depth][width];
+        this.halfLifeMs = halfLifeMs;
+        this.slotIds = new long[slots];
+        this.slotWeights = new double[slots];
+        this.landmarkMs = nowMs;
+    }
+
+    synchronized void add(long bookId, long nowMs) {
+        double exponent = (nowMs - landmarkMs) / halfLifeMs;
+        if (exponent > RESCALE_EXPONENT) {
+            rescale(Math.floor(exponent));
+            exponent = (nowMs - landmarkMs) / halfLifeMs;
+        }
+
+        double weight = Math.pow(2, exponent);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            int column = column(bookId, row);
+            counters[row][column] += weight;
+            estimate = Math.min(estimate, counters[row][column]);
+        }
+
+        offer(bookId, estimate);
+    }
+
+    // the highest decayed counts as of nowMs, leaving out counts under minCount
+    synchronized List<Entry> top(int limit, double minCount, long nowMs) {
+        double scale = Math.pow(2, -(nowMs - landmarkMs) / halfLifeMs);
+
+        List<Entry> entries = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            double count = slotWeights[i] * scale;
+            if (count >= minCount) {
+                entries.add(new Entry(slotIds[i], count));
+            }
+        }
+
+        entries.sort((a, b) -> a.count() != b.count()
+                ? Double.compare(b.count(), a.count())
+                : Long.compare(a.bookId(), b.bookId()));
+        return List.copyOf(entries.subList(0, Math.min(limit, entries.size())));
+    }
+
+    private void offer(long bookId, double estimate) {
+        int min = 0;
+        for (int i = 0; i < slotCount; i++) {
+            if (slotIds[i] == bookId) {
+                slotWeights[i] = estimate;
+                return;
+            }
+            if (slotWeights[i] < slotWeights[min]) {
+                min = i;
+            }
+        }
+
+        if (slotCount < slotIds.length) {
+            min = slotCount++;
+        } else if (estimate <= slotWeights[min]) {
+            return;
+        }
+
+        slotIds[min] = bookId;
+        slotWeights[min] = estimate;
+    }
+
+    private void rescale(double halfLives) {
+        double factor = Math.pow(2, -halfLives);
+        for (double[] row : counters) {
+            for (int column = 0; column < width; column++) {
+                row[column] *= factor;
+            }
+        }
+        for (int i = 0; i < slotCount; i++) {
+            slotWeights[i] *= factor;
+        }
+
+        landmarkMs += (long) (halfLives * halfLifeMs);
+    }
+
+    private int column(long bookId, int row) {
+        // SplitMix64 finalizer, seeded per row
+        long h = bookId ^ SEEDS[row];
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return (int) Long.remainderUnsigned(h, width);
+    }
+}
@@ -0,0 +1,145 @@
+package com.shadoww.library.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.controller.BookController;
+import com.shadoww.library.controller.BorrowController;
+import com.shadoww.library.controller.MemberController;
+import com.shadoww.library.dto.BookRequestDto;
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.MemberRequestDto;
+import com.shadoww.library.dto.MemberResponseDto;
+import com.shadoww.library.dto.TopBorrowedBookDto;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.BorrowStatsService;
+import com.shadoww.library.service.MemberService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs before the application reports ready: Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC once every runner has returned, so the probe stays down until the
+ * warm-up finishes or its budget runs out.
+ * <p>
+ * First the hot books (most borrowed recently) and the members holding them are read
+ * through the regular lookup paths. Then a synthetic mix of create, borrow, return and
+ * read calls goes through the controllers and services, and the responses are serialized.
+ * Each round runs in a transaction that is always rolled back.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Duration HOT_WINDOW = Duration.ofDays(7);
+
+    private final BookService bookService;
+    private final MemberService memberService;
+    private final BorrowService borrowService;
+    private final BorrowStatsService borrowStatsService;
+    private final BorrowRepository borrowRepository;
+    private final BookController bookController;
+    private final MemberController memberController;
+    private final BorrowController borrowController;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${warmup.budget-ms}")
+    private long budgetMs;
+
+    @Value("${warmup.iterations}")
+    private int iterations;
+
+    @Value("${warmup.hot-books}")
+    private int hotBooks;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        int preloaded = preloadHotEntries();
+        int rounds = 0;
+
+        try {
+            TransactionTemplate scratch = new TransactionTemplate(transactionManager);
+            while (rounds < iterations && System.nanoTime() - deadline < 0) {
+                scratch.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    replay();
+                });
+                rounds++;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up stopped after {} rounds", rounds, ex);
+        }
+
+        log.info("Warm-up preloaded {} hot entries and replayed {}/{} rounds in {} ms{}", preloaded, rounds, iterations,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                rounds < iterations ? ", budget exhausted" : "");
+    }
+
+    int preloadHotEntries() {
+        List<Long> bookIds = borrowStatsService.getTopBorrowed(HOT_WINDOW, hotBooks).stream()
+                .map(TopBorrowedBookDto::bookId)
+                .toList();
+
+        if (bookIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> memberIds = borrowRepository.findOpenMemberIdsByBookIdIn(bookIds, PageRequest.of(0, hotBooks));
+
+        return bookService.findAllById(bookIds).size()
+                + bookService.findAvailabilityById(bookIds).size()
+                + memberService.findAllById(memberIds).size();
+    }
+
+    void replay() {
+        String suffix = UUID.randomUUID().toString();
+
+        BookResponseDto book = bookController.create(new BookRequestDto("Warm-up " + suffix, "Warm Up")).getBody();
+        MemberResponseDto member = memberController.create(new MemberRequestDto("Warm-up " + suffix)).getBody();
+
+        Borrow borrow = borrowService.borrowBook(member.id(), book.id());
+        borrowService.returnBook(borrow.getId());
+
+        serialize(bookController.getById(book.id()).getBody());
+        serialize(bookController.getByIds(List.of(book.id())).getBody());
+        serialize(bookController.getAvailability(List.of(book.id())).getBody());
+        serialize(memberController.getById(member.id()).getBody());
+        serialize(borrowController.getMemberHistory(member.id(), null, null, false, null, null, 20).getBody());
+        serialize(borrowController.getTopBorrowed("7d", 10).getBody());
+    }
+
+    private void serialize(Object body) {
+        try {
+            objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Warm-up response could not be serialized", ex);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.shadoww.library.benchmark;
+
+import com.shadoww.library.LibraryApplication;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.Member;
+import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowCommandService;
+import com.shadoww.library.service.MemberService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Borrow-then-return round trips from many threads, with a transaction per call versus group
+ * commit at several batch sizes and windows. Prints throughput and per-call latency percentiles:
+ * batching trades a little latency at low load for fewer commits under bursts. H2 in memory makes
+ * commits cheap, so on a disk-backed database the gap is wider.
+ */
+@Tag("benchmark")
+public class GroupCommitBenchmarkTests {
+
+    private static final int THREADS = 64;
+    private static final int WARMUP_ROUND_TRIPS = 100;
+    private static final int MEASURED_ROUND_TRIPS = 500;
+    private static final int BOOKS = 16;
+
+    @ParameterizedTest(name = "batching={0} max-size={1} window-us={2}")
+    @CsvSource({
+            "false, 1, 0",
+            "true, 16, 200",
+            "true, 64, 500",
+            "true, 64, 2000"
+    })
+    void borrowAndReturn(boolean batching, int maxSize, long windowMicros) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:group-commit-" + batching + "-" + maxSize + "-" + windowMicros
+                                + ";LOCK_TIMEOUT=30000",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "borrow.batching.enabled=" + batching,
+                        "borrow.batching.max-size=" + maxSize,
+                        "borrow.batching.window-us=" + windowMicros
+                )
+                .run()) {
+
+            BorrowCommandService borrows = context.getBean(BorrowCommandService.class);
+            List<Long> bookIds = createBooks(context.getBean(BookService.class));
+            List<Long> memberIds = createMembers(context.getBean(MemberService.class));
+
+            run(borrows, memberIds, bookIds, WARMUP_ROUND_TRIPS);
+
+            long start = System.nanoTime();
+            long[] latencies = run(borrows, memberIds, bookIds, MEASURED_ROUND_TRIPS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("group commit %-5s max-size=%-3d window=%-5dus %8.0f ops/s, p50 %6.2f ms, p99 %6.2f ms%n",
+                    batching, maxSize, windowMicros, latencies.length / seconds,
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+
+            assertThat(latencies).hasSize(THREADS * MEASURED_ROUND_TRIPS * 2);
+        }
+    }
+
+    // every thread is its own member, so the borrow limit and stock never reject a call
+    private long[] run(BorrowCommandService borrows, List<Long> memberIds, List<Long> bookIds, int roundTrips)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Long memberId = memberIds.get(t);
+                Long bookId = bookIds.get(t % bookIds.size());
+
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long[] latencies = new long[roundTrips * 2];
+
+                    for (int i = 0; i < roundTrips; i++) {
+                        long began = System.nanoTime();
+                        Borrow borrow = borrows.borrowBook(memberId, bookId);
+                        long borrowed = System.nanoTime();
+                        borrows.returnBook(borrow.getId());
+
+                        latencies[2 * i] = borrowed - began;
+                        latencies[2 * i + 1] = System.nanoTime() - borrowed;
+                    }
+                    return latencies;
+                }));
+            }
+
+            start.countDown();
+
+            long[] all = new long[0];
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            return all;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> createBooks(BookService bookService) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Group Commit " + i);
+            book.setAuthor("Bench Mark");
+            book.setAmount(THREADS);
+            ids.add(bookService.createOrIncrement(book).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> createMembers(MemberService memberService) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Member member = new Member();
+            member.setName("Bench Member " + i);
+            ids.add(memberService.create(member).getId());
+        }
+        return ids;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+}
@@ -0,0 +1,110 @@
+package com.shadoww.library.benchmark;
+
+import com.shadoww.library.LibraryApplication;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.Member;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Borrow insert throughput and JDBC statements per row for each id strategy, with JDBC
+ * batching on. Each case boots its own context since the strategy is fixed at startup.
+ */
+@Tag("benchmark")
+public class IdInsertBenchmarkTests {
+
+    private static final int WARMUP_ROWS = 20_000;
+    private static final int MEASURED_ROWS = 100_000;
+    private static final int ROWS_PER_TRANSACTION = 500;
+
+    @ParameterizedTest(name = "{0} block={1}")
+    @CsvSource({
+            "sequence, 1",
+            "sequence, 50",
+            "sequence, 1000",
+            "time-ordered, 50"
+    })
+    void borrowInserts(String strategy, int blockSize) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:ids-" + strategy + "-" + blockSize,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + ROWS_PER_TRANSACTION,
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.jpa.properties.library.id.strategy=" + strategy,
+                        "spring.jpa.properties.library.id.block-size=" + blockSize
+                )
+                .run()) {
+
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            BorrowRepository borrowRepository = context.getBean(BorrowRepository.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            Book book = transaction.execute(status -> context.getBean(BookRepository.class).save(book()));
+            Member member = transaction.execute(status -> context.getBean(MemberRepository.class).save(member()));
+
+            insert(transaction, borrowRepository, book, member, WARMUP_ROWS);
+
+            statistics.clear();
+            long start = System.nanoTime();
+            insert(transaction, borrowRepository, book, member, MEASURED_ROWS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("ids %-12s block=%-5d %9.0f rows/s, %5.3f statements/row%n",
+                    strategy, blockSize, MEASURED_ROWS / seconds,
+                    (double) statistics.getPrepareStatementCount() / MEASURED_ROWS);
+
+            assertThat(borrowRepository.count()).isEqualTo(WARMUP_ROWS + MEASURED_ROWS);
+        }
+    }
+
+    private void insert(TransactionTemplate transaction, BorrowRepository borrowRepository, Book book, Member member, int rows) {
+        for (int done = 0; done < rows; done += ROWS_PER_TRANSACTION) {
+            transaction.executeWithoutResult(status -> {
+                List<Borrow> batch = new ArrayList<>(ROWS_PER_TRANSACTION);
+                for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                    Borrow borrow = new Borrow();
+                    borrow.setBook(book);
+                    borrow.setMember(member);
+                    borrow.setDueDate(LocalDateTime.now().plusDays(14));
+                    batch.add(borrow);
+                }
+                borrowRepository.saveAll(batch);
+            });
+        }
+    }
+
+    private Book book() {
+        Book book = new Book();
+        book.setTitle("Id Benchmark");
+        book.setAuthor("Bench Mark");
+        return book;
+    }
+
+    private Member member() {
+        Member member = new Member();
+        member.setName("Id Benchmark");
+        return member;
+    }
+}
@@ -0,0 +1,86 @@
+package com.shadoww.library.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.exception.BusinessRejectionException;
+import com.shadoww.library.exception.ExceptionEntity;
+import com.shadoww.library.exception.GlobalExceptionHandler;
+import com.shadoww.library.exception.Rejection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated and time per "Book is not available" rejection, from throw to serialized
+ * body, for the old IllegalStateException path and the stackless shared exception.
+ */
+@Tag("benchmark")
+public class RejectionAllocationBenchmarkTests {
+
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void rejectionPath() throws Exception {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+        Result before = measure(() -> {
+            try {
+                throw new IllegalStateException("Book is not available");
+            } catch (IllegalStateException ex) {
+                ExceptionEntity entity = new ExceptionEntity(LocalDateTime.now(), HttpStatus.CONFLICT.value(),
+                        HttpStatus.CONFLICT.getReasonPhrase(), ex.getMessage());
+                return new ResponseEntity<>(objectMapper.writeValueAsBytes(entity), HttpStatus.CONFLICT).getBody().length;
+            }
+        });
+
+        Result after = measure(() -> {
+            try {
+                throw Rejection.BOOK_NOT_AVAILABLE.getException();
+            } catch (BusinessRejectionException ex) {
+                ResponseEntity<ExceptionEntity> response = handler.handleRejection(ex);
+                return objectMapper.writeValueAsBytes(response.getBody()).length;
+            }
+        });
+
+        System.out.printf("rejection  before: %8.1f bytes/op, %8.1f ns/op%n", before.bytesPerOp, before.nanosPerOp);
+        System.out.printf("rejection  after:  %8.1f bytes/op, %8.1f ns/op%n", after.bytesPerOp, after.nanosPerOp);
+
+        assertThat(after.bytesPerOp).isLessThan(before.bytesPerOp);
+    }
+
+    private Result measure(Callable<Integer> rejection) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += rejection.call();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += rejection.call();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        assertThat(sink).isPositive();
+        return new Result((double) allocated / MEASURED_ROUNDS, (double) elapsed / MEASURED_ROUNDS);
+    }
+
+    private record Result(double bytesPerOp, double nanosPerOp) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.shadoww.library.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.BorrowResponseDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares JSON and Smile payload size and encode/decode time for list responses.
+ */
+@Tag("benchmark")
+public class SerializationBenchmarkTests {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+    @ParameterizedTest
+    @ValueSource(ints = {20, 200, 2000})
+    void bookList(int size) throws Exception {
+        List<BookResponseDto> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(new BookResponseDto((long) i, "Book title number " + i, "Author Surname", i % 7));
+        }
+
+        compare("books", books, BookResponseDto.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {20, 200, 2000})
+    void borrowList(int size) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<BorrowResponseDto> borrows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            borrows.add(new BorrowResponseDto((long) i, (long) i % 500, (long) i % 90,
+                    now.minusDays(i % 30), now.plusDays(14 - i % 30), i % 3 == 0 ? now : null, i % 3 == 0));
+        }
+
+        compare("borrows", borrows, BorrowResponseDto.class);
+    }
+
+    private <T> void compare(String name, List<T> payload, Class<T> type) throws Exception {
+        Result jsonResult = measure(json, payload, type);
+        Result smileResult = measure(smile, payload, type);
+
+        System.out.printf("%-8s n=%-5d json:  %8d bytes, encode %8.1f us, decode %8.1f us%n",
+                name, payload.size(), jsonResult.bytes, jsonResult.encodeMicros, jsonResult.decodeMicros);
+        System.out.printf("%-8s n=%-5d smile: %8d bytes, encode %8.1f us, decode %8.1f us (%.0f%% of json size)%n",
+                name, payload.size(), smileResult.bytes, smileResult.encodeMicros, smileResult.decodeMicros,
+                100.0 * smileResult.bytes / jsonResult.bytes);
+
+        assertThat(smileResult.bytes).isLessThan(jsonResult.bytes);
+    }
+
+    private <T> Result measure(ObjectMapper mapper, List<T> payload, Class<T> type) throws Exception {
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+
+        byte[] encoded = mapper.writeValueAsBytes(payload);
+        assertThat(mapper.<List<T>>readValue(encoded, listType)).isEqualTo(payload);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(payload), listType);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            encoded = mapper.writeValueAsBytes(payload);
+        }
+        long encodeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            mapper.readValue(encoded, listType);
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        return new Result(encoded.length,
+                encodeNanos / 1000.0 / MEASURED_ROUNDS,
+                decodeNanos / 1000.0 / MEASURED_ROUNDS);
+    }
+
+    private record Result(int bytes, double encodeMicros, double decodeMicros) {
+    }
+}
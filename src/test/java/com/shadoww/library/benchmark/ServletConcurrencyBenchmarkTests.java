@@ -0,0 +1,100 @@
+package com.shadoww.library.benchmark;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Servlet side of the servlet vs reactive comparison; the reactive module has a twin of this class
+ * printing the same columns. Fires {@code concurrency} simultaneous requests per round and reports
+ * throughput, peak live threads and heap growth per open connection.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ServletConcurrencyBenchmarkTests {
+
+    private static final int ROUNDS = 5;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private URI bookUri;
+
+    @BeforeEach
+    void seed() throws Exception {
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base() + "/api/books"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Benchmark Book\",\"author\":\"Bench Mark\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(201);
+
+        bookUri = URI.create(base() + "/api/books");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 200, 1000})
+    void concurrentReads(int concurrency) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        // warm-up round, not measured
+        fire(concurrency);
+
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+
+        AtomicInteger ok = new AtomicInteger();
+        long peakHeap = heapBefore;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            ok.addAndGet(fire(concurrency));
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("servlet  c=%-5d ok=%-6d %8.0f req/s, peak threads %4d, heap/conn %8.1f KB%n",
+                concurrency, ok.get(), ok.get() / seconds, threads.getPeakThreadCount(),
+                (peakHeap - heapBefore) / 1024.0 / concurrency);
+
+        assertThat(ok.get()).isPositive();
+    }
+
+    private int fire(int concurrency) {
+        List<CompletableFuture<HttpResponse<Void>>> inFlight = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            inFlight.add(client.sendAsync(HttpRequest.newBuilder(bookUri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()));
+        }
+
+        return (int) inFlight.stream()
+                .map(future -> future.handle((response, error) -> error == null && response.statusCode() == 200))
+                .map(CompletableFuture::join)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    private String base() {
+        return "http://localhost:" + port;
+    }
+}
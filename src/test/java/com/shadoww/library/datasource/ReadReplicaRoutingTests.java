@@ -0,0 +1,110 @@
+package com.shadoww.library.datasource;
+
+import com.shadoww.library.model.Book;
+import com.shadoww.library.service.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "replica.lag-ms=100")
+@ActiveProfiles("replica")
+public class ReadReplicaRoutingTests {
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private ReplicaSynchronizer replicaSynchronizer;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readAfterWrite_shouldSeeTheWrite_beforeReplicaCatchesUp() {
+        Book created = bookService.createOrIncrement(book("Read Your Writes"));
+
+        assertThat(replicaSynchronizer.isCaughtUp()).isFalse();
+        assertThat(readOnlyUrl()).contains("librarydb");
+        assertThat(bookService.findById(created.getId()).getTitle()).isEqualTo("Read Your Writes");
+    }
+
+    @Test
+    void readOnly_shouldUseReplica_onceCaughtUp() throws InterruptedException {
+        Book created = bookService.createOrIncrement(book("Replicated Title"));
+
+        awaitCaughtUp();
+
+        assertThat(readOnlyUrl()).contains("libraryreplica");
+        assertThat(bookService.findById(created.getId()).getTitle()).isEqualTo("Replicated Title");
+    }
+
+    @Test
+    void readOnly_shouldUseReplica_forOtherCallers_whileAWriteIsReplicating() throws Exception {
+        awaitCaughtUp();
+
+        bookService.createOrIncrement(book("Someone Else's Write"));
+        assertThat(replicaSynchronizer.isCaughtUp()).isFalse();
+
+        ExecutorService otherCaller = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(otherCaller.submit(this::readOnlyUrl).get(5, TimeUnit.SECONDS)).contains("libraryreplica");
+        } finally {
+            otherCaller.shutdown();
+        }
+        assertThat(readOnlyUrl()).contains("librarydb");
+    }
+
+    @Test
+    void readWrite_shouldAlwaysUsePrimary() throws InterruptedException {
+        awaitCaughtUp();
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertThat(readWrite.execute(status -> url())).contains("librarydb");
+    }
+
+    private String readOnlyUrl() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return readOnly.execute(status -> url());
+    }
+
+    private String url() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.getMetaData().getURL();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        for (int i = 0; i < 200 && !replicaSynchronizer.isCaughtUp(); i++) {
+            Thread.sleep(25);
+        }
+        assertThat(replicaSynchronizer.isCaughtUp()).isTrue();
+    }
+
+    private Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Robert Martin");
+        return book;
+    }
+}
@@ -0,0 +1,86 @@
+package com.shadoww.library.datasource;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlLoggingDataSourceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldLogEveryStatement_whenThresholdIsZero() throws Exception {
+        SqlLoggingDataSource dataSource = new SqlLoggingDataSource(h2(), 0, 0.0, meterRegistry);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT ? + 1")) {
+            statement.setInt(1, 41);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                assertThat(resultSet.getInt(1)).isEqualTo(42);
+            }
+        }
+
+        assertThat(meterRegistry.counter("library.sql.statements").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("library.sql.logged", "reason", "slow").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLog_whenFastAndNotSampled() throws Exception {
+        SqlLoggingDataSource dataSource = new SqlLoggingDataSource(h2(), 60_000, 0.0, meterRegistry);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("SELECT 1");
+        }
+
+        assertThat(meterRegistry.counter("library.sql.statements").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("library.sql.logged", "reason", "slow").count()).isZero();
+        assertThat(meterRegistry.counter("library.sql.logged", "reason", "sampled").count()).isZero();
+    }
+
+    @Test
+    void shouldLogBatchRowCount_andFirstRowBinds() throws Exception {
+        SqlLoggingDataSource dataSource = new SqlLoggingDataSource(h2(), 0, 0.0, meterRegistry);
+
+        Logger logger = (Logger) LoggerFactory.getLogger(SqlLoggingDataSource.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().execute("CREATE TABLE IF NOT EXISTS batched (v INT)");
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO batched (v) VALUES (?)")) {
+                for (int v = 1; v <= 3; v++) {
+                    statement.setInt(1, v);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        } finally {
+            logger.detachAppender(appender);
+        }
+
+        assertThat(appender.list).last()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("INSERT INTO batched", "binds=3 rows, first {1=1}");
+    }
+
+    private JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sqllogging");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.shadoww.library.deadline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineFilterTests {
+
+    private final DeadlineFilter filter = new DeadlineFilter();
+
+    @BeforeEach
+    void setup() {
+        Map<String, Long> endpoints = new LinkedHashMap<>();
+        endpoints.put("/api/*/import", 300_000L);
+
+        ReflectionTestUtils.setField(filter, "defaultMs", 5_000L);
+        ReflectionTestUtils.setField(filter, "maxMs", 30_000L);
+        ReflectionTestUtils.setField(filter, "endpoints", endpoints);
+    }
+
+    @Test
+    void budgetFor_shouldUseDefault_whenNothingMatches() {
+        assertThat(filter.budgetFor(request("/api/books"))).isEqualTo(5_000L);
+    }
+
+    @Test
+    void budgetFor_shouldUseEndpointBudget_whenPathMatches() {
+        assertThat(filter.budgetFor(request("/api/books/import"))).isEqualTo(300_000L);
+    }
+
+    @Test
+    void budgetFor_shouldCapHeaderAtMax() {
+        MockHttpServletRequest request = request("/api/books");
+        request.addHeader(DeadlineFilter.HEADER, "600000");
+
+        assertThat(filter.budgetFor(request)).isEqualTo(30_000L);
+    }
+
+    @Test
+    void budgetFor_shouldIgnoreMalformedHeader() {
+        MockHttpServletRequest request = request("/api/books");
+        request.addHeader(DeadlineFilter.HEADER, "soon");
+
+        assertThat(filter.budgetFor(request)).isEqualTo(5_000L);
+    }
+
+    @Test
+    void doFilter_shouldSetDeadlineOnlyForTheRequest() throws Exception {
+        MockHttpServletRequest request = request("/api/books");
+        request.addHeader(DeadlineFilter.HEADER, "1000");
+        AtomicReference<Long> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen.set(RequestDeadline.remainingMillis());
+            }
+        });
+
+        assertThat(seen.get()).isBetween(1L, 1_000L);
+        assertThat(RequestDeadline.remainingMillis()).isNull();
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
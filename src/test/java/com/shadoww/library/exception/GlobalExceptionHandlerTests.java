@@ -0,0 +1,47 @@
+package com.shadoww.library.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlobalExceptionHandlerTests {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+
+    @Test
+    void handleRejection_shouldRenderTheRejection_withItsCodeAndAFreshTimestamp() {
+        ResponseEntity<ExceptionEntity> first = handler.handleRejection(Rejection.BOOK_NOT_AVAILABLE.getException());
+        ResponseEntity<ExceptionEntity> second = handler.handleRejection(Rejection.BOOK_NOT_AVAILABLE.getException());
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(first.getBody()).satisfies(body -> {
+            assertThat(body.status()).isEqualTo(409);
+            assertThat(body.error()).isEqualTo("Conflict");
+            assertThat(body.message()).isEqualTo("Book is not available");
+            assertThat(body.code()).isEqualTo("BOOK_NOT_AVAILABLE");
+            assertThat(body.timestamp()).isNotNull();
+        });
+        assertThat(second.getBody()).isNotSameAs(first.getBody());
+    }
+
+    @Test
+    void handleIllegalState_shouldLeaveTheCodeOut() {
+        ResponseEntity<ExceptionEntity> response = handler.handleIllegalState(new IllegalStateException("Conflict"));
+
+        assertThat(response.getBody().code()).isNull();
+    }
+
+    @Test
+    void handleRejectedExecution_shouldReturnTheQueuesOwnMessage() {
+        ResponseEntity<ExceptionEntity> response = handler.handleRejectedExecution(
+                new RejectedExecutionException("Too many borrows and returns in flight, try again later"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody().message()).isEqualTo("Too many borrows and returns in flight, try again later");
+    }
+}
@@ -0,0 +1,48 @@
+package com.shadoww.library.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TimeOrderedIdsTests {
+
+    @Test
+    void next_shouldIncreaseStrictly() {
+        TimeOrderedIds ids = new TimeOrderedIds(3);
+
+        long previous = ids.next();
+        for (int i = 0; i < 100_000; i++) {
+            long next = ids.next();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void next_shouldCarryNodeId() {
+        long id = new TimeOrderedIds(513).next();
+
+        assertThat((id >>> TimeOrderedIds.SEQUENCE_BITS) & TimeOrderedIds.MAX_NODE).isEqualTo(513);
+        assertThat(id).isPositive();
+    }
+
+    @Test
+    void next_shouldNotRepeat_acrossThreads() {
+        TimeOrderedIds ids = new TimeOrderedIds(0);
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> seen.add(ids.next()));
+
+        assertThat(seen).hasSize(200_000);
+    }
+
+    @Test
+    void constructor_shouldRejectNodeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(1024));
+    }
+}
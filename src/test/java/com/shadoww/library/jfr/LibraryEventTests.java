@@ -0,0 +1,82 @@
+package com.shadoww.library.jfr;
+
+import com.shadoww.library.exception.Rejection;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LibraryEventTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void run_shouldNotOpenDbScope_whenNoRecordingEnablesTheEvent() {
+        BorrowEvent event = new BorrowEvent();
+
+        boolean recording = event.run(event::recording);
+
+        assertThat(recording).isFalse();
+        assertThat(DbTime.active()).isFalse();
+    }
+
+    @Test
+    void run_shouldRecordDbTimeAndOutcome_whenEnabled() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            BorrowEvent borrowed = new BorrowEvent();
+            borrowed.memberId = 1;
+            borrowed.bookId = 2;
+            borrowed.run(() -> {
+                DbTime.record(Duration.ofMillis(3).toNanos());
+                DbTime.record(Duration.ofMillis(4).toNanos());
+                borrowed.rowsTouched = 3;
+                return null;
+            });
+
+            BorrowEvent rejected = new BorrowEvent();
+            assertThrows(RuntimeException.class, () -> rejected.run(() -> {
+                throw Rejection.BOOK_NOT_AVAILABLE.getException();
+            }));
+        });
+
+        assertThat(events).hasSize(2);
+
+        RecordedEvent borrowed = events.get(0);
+        assertThat(borrowed.getLong("memberId")).isEqualTo(1);
+        assertThat(borrowed.getLong("bookId")).isEqualTo(2);
+        assertThat(borrowed.getString("outcome")).isEqualTo(LibraryEvent.OK);
+        assertThat(borrowed.getDuration("dbTime")).isEqualTo(Duration.ofMillis(7));
+        assertThat(borrowed.getInt("statements")).isEqualTo(2);
+        assertThat(borrowed.getLong("rowsTouched")).isEqualTo(3);
+
+        assertThat(events.get(1).getString("outcome")).isEqualTo(Rejection.BOOK_NOT_AVAILABLE.name());
+        assertThat(DbTime.active()).isFalse();
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws Exception {
+        Path file = dir.resolve("events.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(BorrowEvent.class).withoutThreshold();
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.shadoww.library.Borrow"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+}
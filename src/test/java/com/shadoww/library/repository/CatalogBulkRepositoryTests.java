@@ -0,0 +1,95 @@
+package com.shadoww.library.repository;
+
+import com.shadoww.library.dto.ImportErrorDto;
+import com.shadoww.library.dto.ImportReportDto;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Member;
+import com.shadoww.library.service.ImportFormat;
+import com.shadoww.library.service.ImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulkimport")
+public class CatalogBulkRepositoryTests {
+
+    @Autowired
+    private CatalogBulkRepository catalogBulkRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ImportService importService;
+
+    @Test
+    void upsertBooks_shouldMatchCaseInsensitively_onTitleAndAuthor() {
+        List<Long> inserted = catalogBulkRepository.upsertBooks(
+                List.of(new BookImportRow("Bulk Matched Title", "Frank Herbert", 2)));
+        List<Long> matched = catalogBulkRepository.upsertBooks(
+                List.of(new BookImportRow("BULK matched title", "frank herbert", 3)));
+
+        Book book = bookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase("bulk Matched TITLE", "Frank HERBERT")
+                .orElseThrow();
+
+        assertThat(inserted).containsExactly(book.getId());
+        assertThat(matched).containsExactly(book.getId());
+        assertThat(book.getTitle()).isEqualTo("Bulk Matched Title");
+        assertThat(book.getAmount()).isEqualTo(5);
+        assertThat(book.getTotalCopies()).isEqualTo(5);
+    }
+
+    @Test
+    void importedIds_shouldNotCollide_withIdsHibernateHandsOut() {
+        Set<Long> ids = new HashSet<>();
+        Set<Long> memberIds = new HashSet<>();
+
+        // more than one pooled-lo block on each side, interleaved
+        for (int round = 0; round < 3; round++) {
+            catalogBulkRepository.upsertBooks(List.of(
+                    new BookImportRow("Imported Title " + round, "Ann Author", 1)));
+            memberIds.addAll(catalogBulkRepository.insertMembers(List.of("Imported Member " + round)));
+
+            for (int i = 0; i < 60; i++) {
+                Book book = new Book();
+                book.setTitle("Saved Title " + round + "-" + i);
+                book.setAuthor("Sam Writer");
+                ids.add(bookRepository.save(book).getId());
+
+                Member member = new Member();
+                member.setName("Saved Member " + round + "-" + i);
+                memberIds.add(memberRepository.save(member).getId());
+            }
+        }
+
+        bookRepository.findAll().forEach(book -> ids.add(book.getId()));
+
+        assertThat(bookRepository.count()).isEqualTo(ids.size());
+        assertThat(memberIds).hasSize(183);
+        assertThat(memberRepository.findAllById(memberIds)).hasSize(183);
+    }
+
+    @Test
+    void importBooks_shouldRejectOnlyTheRow_whoseTitleBelongsToAnotherAuthor() {
+        catalogBulkRepository.upsertBooks(List.of(new BookImportRow("Taken Import Title", "Anna Writer", 1)));
+
+        ImportReportDto report = importService.importBooks(new ByteArrayInputStream("""
+                Fresh Import Title,Anna Writer
+                Taken Import Title,Other Writer
+                Second Fresh Title,Anna Writer
+                """.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        assertThat(report.rowsApplied()).isEqualTo(2);
+        assertThat(report.rowsRejected()).isEqualTo(1);
+        assertThat(report.errors()).extracting(ImportErrorDto::line).containsExactly(2L);
+        assertThat(bookRepository.findByTitleIgnoreCaseAndAuthorIgnoreCase("Second Fresh Title", "Anna Writer")).isPresent();
+    }
+}
@@ -0,0 +1,114 @@
+package com.shadoww.library.resilience;
+
+import com.shadoww.library.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DatabaseCircuitBreakerTests {
+
+    private DatabaseCircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        breaker = new DatabaseCircuitBreaker(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(breaker, "failureThreshold", 2);
+        ReflectionTestUtils.setField(breaker, "openMs", 60_000L);
+        breaker.registerMeters();
+    }
+
+    @Test
+    void guard_shouldOpenAndReject_afterConsecutiveDatabaseFailures() {
+        fail();
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+
+        fail();
+        assertThat(breaker.isOpen()).isTrue();
+
+        DatabaseUnavailableException rejected = assertThrows(DatabaseUnavailableException.class,
+                () -> breaker.guard(() -> "unreachable"));
+        assertThat(rejected.getRetryAfterSeconds()).isBetween(1L, 60L);
+    }
+
+    @Test
+    void guard_shouldNotCount_otherFailuresOrNestedCalls() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class, () -> breaker.guard(() -> {
+                throw new IllegalArgumentException("bad input");
+            }));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CannotAcquireLockException.class, () -> breaker.guard(() -> {
+                throw new CannotAcquireLockException("lock wait timeout");
+            }));
+        }
+
+        assertThrows(CannotCreateTransactionException.class, () -> breaker.guard(() ->
+                breaker.guard(() -> {
+                    throw new CannotCreateTransactionException("no connection");
+                })));
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void guard_shouldNotCount_lockOrDeadlineTimeouts() {
+        for (int i = 0; i < 3; i++) {
+            // H2 reports a lock timeout as an SQLTimeoutException
+            assertThrows(CannotAcquireLockException.class, () -> breaker.guard(() -> {
+                throw new CannotAcquireLockException("lock timeout", new SQLTimeoutException("Timeout trying to lock table"));
+            }));
+
+            assertThrows(QueryTimeoutException.class, () -> breaker.guard(() -> {
+                throw new QueryTimeoutException("query cancelled", new SQLTimeoutException("Statement was canceled"));
+            }));
+
+            assertThrows(TransactionTimedOutException.class, () -> breaker.guard(() -> {
+                throw new TransactionTimedOutException("request deadline exceeded");
+            }));
+        }
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void guard_shouldCloseAfterSuccessfulTrial() {
+        ReflectionTestUtils.setField(breaker, "openMs", 0L);
+        fail();
+        fail();
+
+        assertThat(breaker.guard(() -> "ok")).isEqualTo("ok");
+
+        assertThat(breaker.getState()).isEqualTo(DatabaseCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void guard_shouldReopen_whenTrialFails() {
+        ReflectionTestUtils.setField(breaker, "openMs", 0L);
+        fail();
+        fail();
+
+        fail();
+        ReflectionTestUtils.setField(breaker, "openMs", 60_000L);
+
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    private void fail() {
+        assertThrows(CannotCreateTransactionException.class, () -> breaker.guard(() -> {
+            throw new CannotCreateTransactionException("no connection", new SQLTransientConnectionException("pool exhausted"));
+        }));
+    }
+}
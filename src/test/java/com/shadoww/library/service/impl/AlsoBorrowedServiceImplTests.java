@@ -0,0 +1,137 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.AlsoBorrowedDto;
+import com.shadoww.library.repository.BorrowHistoryRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.MemberBookView;
+import com.shadoww.library.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AlsoBorrowedServiceImplTests {
+
+    @Mock
+    private BorrowRepository borrowRepository;
+    @Mock
+    private BorrowHistoryRepository borrowHistoryRepository;
+    @Mock
+    private MemberRepository memberRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AlsoBorrowedServiceImpl alsoBorrowedService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        alsoBorrowedService = new AlsoBorrowedServiceImpl(borrowRepository, borrowHistoryRepository,
+                memberRepository, meterRegistry);
+        ReflectionTestUtils.setField(alsoBorrowedService, "topK", 2);
+        ReflectionTestUtils.setField(alsoBorrowedService, "candidates", 3);
+        ReflectionTestUtils.setField(alsoBorrowedService, "memberWindow", 3);
+        ReflectionTestUtils.setField(alsoBorrowedService, "queueCapacity", 16);
+        ReflectionTestUtils.setField(alsoBorrowedService, "rebuildChunkSize", 1);
+        ReflectionTestUtils.setField(alsoBorrowedService, "rebuildParallelism", 2);
+        alsoBorrowedService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        alsoBorrowedService.stop();
+    }
+
+    @Test
+    void rebuild_shouldCountEachMembersWindow_openBorrowsFirst() {
+        when(memberRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(borrowRepository.findMemberBooksByMemberIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.contains(1L) ? List.of(row(1L, 10L), row(1L, 20L))
+                    : ids.contains(2L) ? List.of(row(2L, 10L))
+                    : List.of();
+        });
+        when(borrowHistoryRepository.findMemberBooksByMemberIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            // member 1's window of 3 ends at book 30; book 40 is past it
+            return ids.contains(1L) ? List.of(row(1L, 30L), row(1L, 40L))
+                    : ids.contains(2L) ? List.of(row(2L, 20L), row(2L, 10L))
+                    : List.of(row(3L, 10L));
+        });
+
+        alsoBorrowedService.rebuild();
+
+        assertThat(alsoBorrowedService.findAlsoBorrowed(10L))
+                .containsExactly(new AlsoBorrowedDto(20L, 2), new AlsoBorrowedDto(30L, 1));
+        assertThat(alsoBorrowedService.findAlsoBorrowed(40L)).isEmpty();
+        assertThat(meterRegistry.get("library.also-borrowed.books").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void recordBorrow_shouldCountBookWithMembersOtherBooks_onlyTheFirstTime() throws InterruptedException {
+        when(borrowRepository.findRecentBookIdsByMemberId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(10L, 20L), List.of(10L, 10L, 20L));
+        when(borrowHistoryRepository.findRecentBookIdsByMemberId(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(30L));
+
+        alsoBorrowedService.recordBorrow(1L, 10L);
+        awaitNeighbours(20L);
+        alsoBorrowedService.recordBorrow(1L, 10L);
+        verify(borrowRepository, timeout(5000).times(2)).findRecentBookIdsByMemberId(eq(1L), any(Pageable.class));
+
+        assertThat(alsoBorrowedService.findAlsoBorrowed(10L))
+                .containsExactly(new AlsoBorrowedDto(20L, 1), new AlsoBorrowedDto(30L, 1));
+        assertThat(alsoBorrowedService.findAlsoBorrowed(20L)).containsExactly(new AlsoBorrowedDto(10L, 1));
+    }
+
+    @Test
+    void coBorrowIndex_shouldKeepFixedSlots_andInheritTheEvictedCount() {
+        CoBorrowIndex index = new CoBorrowIndex(2, 2);
+
+        index.addBorrow(1L, new long[]{2L, 3L});
+        index.addBorrow(1L, new long[]{2L});
+        index.addBorrow(1L, new long[]{4L});
+
+        // 4 took over 3's slot with its count of 1, so it is overestimated by at most 1
+        assertThat(index.top(1L)).containsExactly(new AlsoBorrowedDto(2L, 2), new AlsoBorrowedDto(4L, 2));
+        assertThat(index.top(5L)).isEmpty();
+    }
+
+    private void awaitNeighbours(Long bookId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (!alsoBorrowedService.findAlsoBorrowed(bookId).isEmpty()) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Book " + bookId + " got no neighbours in time");
+    }
+
+    private static MemberBookView row(Long memberId, Long bookId) {
+        return new MemberBookView() {
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+        };
+    }
+}
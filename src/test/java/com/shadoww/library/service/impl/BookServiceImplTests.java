@@ -1,19 +1,27 @@
 package com.shadoww.library.service.impl;
 
 
+import com.shadoww.library.dto.BookAvailabilityDto;
+import com.shadoww.library.exception.BusinessRejectionException;
 import com.shadoww.library.model.Book;
 import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.ChangeEntityType;
 import com.shadoww.library.repository.BookRepository;
 import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.BranchStockRepository;
+import com.shadoww.library.repository.FieldProjectionRepository;
+import com.shadoww.library.service.ChangeFeedService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +37,15 @@ public class BookServiceImplTests {
     @Mock
     private BorrowRepository borrowRepository;
 
+    @Mock
+    private BranchStockRepository branchStockRepository;
+
+    @Mock
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -39,6 +56,8 @@ public class BookServiceImplTests {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(bookService, "lookupMaxIds", 100);
+        ReflectionTestUtils.setField(bookService, "lookupChunkSize", 50);
     }
 
     @Test
@@ -54,6 +73,7 @@ public class BookServiceImplTests {
         Book result = bookService.createOrIncrement(book);
 
         assertThat(result).isEqualTo(book);
+        assertThat(result.getTotalCopies()).isEqualTo(1);
     }
 
     @Test
@@ -63,6 +83,7 @@ public class BookServiceImplTests {
         existing.setTitle(title);
         existing.setAuthor(author);
         existing.setAmount(2);
+        existing.setTotalCopies(4);
 
         Book input = new Book();
         input.setTitle(title);
@@ -74,6 +95,7 @@ public class BookServiceImplTests {
         Book result = bookService.createOrIncrement(input);
 
         assertThat(result.getAmount()).isEqualTo(3);
+        assertThat(result.getTotalCopies()).isEqualTo(5);
     }
 
     @Test
@@ -118,6 +140,7 @@ public class BookServiceImplTests {
         existing.setTitle("Old");
         existing.setAuthor("Old");
         existing.setAmount(1);
+        existing.setTotalCopies(3);
 
         Book updated = new Book();
         updated.setTitle(title);
@@ -132,6 +155,7 @@ public class BookServiceImplTests {
         assertThat(result.getTitle()).isEqualTo(title);
         assertThat(result.getAuthor()).isEqualTo(author);
         assertThat(result.getAmount()).isEqualTo(5);
+        assertThat(result.getTotalCopies()).isEqualTo(7);
     }
 
     @Test
@@ -165,7 +189,9 @@ public class BookServiceImplTests {
 
         bookService.delete(bookId);
 
+        verify(branchStockRepository).deleteByBookId(bookId);
         verify(bookRepository).delete(book);
+        verify(changeFeedService).recordDelete(ChangeEntityType.BOOK, bookId);
     }
 
     @Test
@@ -176,7 +202,7 @@ public class BookServiceImplTests {
         when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
         when(borrowRepository.findByBookAndReturnedFalse(book)).thenReturn(List.of(new Borrow()));
 
-        assertThrows(IllegalStateException.class, () -> bookService.delete(bookId));
+        assertThrows(BusinessRejectionException.class, () -> bookService.delete(bookId));
     }
 
     @Test
@@ -217,4 +243,26 @@ public class BookServiceImplTests {
 
         assertThat(result).isEqualTo(books);
     }
+
+    @Test
+    void findAllFields_shouldReturnProjectedRows() {
+        List<String> fields = List.of("id", "title");
+        List<Map<String, Object>> rows = List.of(Map.of("id", bookId, "title", title));
+
+        when(fieldProjectionRepository.findBooks(fields)).thenReturn(rows);
+
+        assertThat(bookService.findAll(fields)).isEqualTo(rows);
+    }
+
+    @Test
+    void findAvailabilityById_shouldKeepRequestOrder() {
+        BookAvailabilityDto available = new BookAvailabilityDto(2L, 3, true);
+        BookAvailabilityDto unavailable = new BookAvailabilityDto(bookId, 0, false);
+
+        when(bookRepository.findAvailabilityByIdIn(List.of(2L, bookId, 9L))).thenReturn(List.of(unavailable, available));
+
+        Map<Long, BookAvailabilityDto> result = bookService.findAvailabilityById(List.of(2L, bookId, 9L));
+
+        assertThat(result.values()).containsExactly(available, unavailable);
+    }
 }
@@ -0,0 +1,76 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.repository.BorrowHistoryRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BorrowArchiveServiceImplTests {
+
+    @Mock
+    private BorrowRepository borrowRepository;
+
+    @Mock
+    private BorrowHistoryRepository borrowHistoryRepository;
+
+    @InjectMocks
+    private BorrowArchiveServiceImpl archiveService;
+
+    private final LocalDateTime cutoff = LocalDateTime.now().minusDays(7);
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void archiveReturnedBefore_shouldCopyThenDeleteBatch() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        when(borrowRepository.findReturnedIdsBefore(any(), any())).thenReturn(ids);
+        when(borrowHistoryRepository.copyFromBorrows(ids)).thenReturn(3);
+        when(borrowRepository.deleteByIdIn(ids)).thenReturn(3);
+
+        int archived = archiveService.archiveReturnedBefore(cutoff, 100);
+
+        assertThat(archived).isEqualTo(3);
+        verify(borrowRepository).deleteByIdIn(ids);
+    }
+
+    @Test
+    void archiveReturnedBefore_shouldDoNothing_whenNothingToArchive() {
+        when(borrowRepository.findReturnedIdsBefore(any(), any())).thenReturn(Collections.emptyList());
+
+        int archived = archiveService.archiveReturnedBefore(cutoff, 100);
+
+        assertThat(archived).isZero();
+        verify(borrowHistoryRepository, never()).copyFromBorrows(anyList());
+        verify(borrowRepository, never()).deleteByIdIn(anyList());
+    }
+
+    @Test
+    void archiveReturnedBefore_shouldThrow_whenCopyIsIncomplete() {
+        List<Long> ids = List.of(1L, 2L);
+
+        when(borrowRepository.findReturnedIdsBefore(any(), any())).thenReturn(ids);
+        when(borrowHistoryRepository.copyFromBorrows(ids)).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> archiveService.archiveReturnedBefore(cutoff, 100));
+        verify(borrowRepository, never()).deleteByIdIn(anyList());
+    }
+}
@@ -0,0 +1,146 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.exception.BusinessRejectionException;
+import com.shadoww.library.exception.DeadlineExceededException;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.service.BorrowCommand;
+import com.shadoww.library.service.BorrowOutcome;
+import com.shadoww.library.service.BorrowService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BorrowCommandServiceImplTests {
+
+    @Mock
+    private BorrowService borrowService;
+
+    private BorrowCommandServiceImpl borrowCommandService;
+
+    @AfterEach
+    void tearDown() {
+        borrowCommandService.stop();
+    }
+
+    @Test
+    void borrowBook_shouldCallServiceDirectly_whenBatchingDisabled() {
+        start(false, 8);
+        Borrow borrow = new Borrow();
+        when(borrowService.borrowBook(1L, 2L)).thenReturn(borrow);
+
+        assertThat(borrowCommandService.borrowBook(1L, 2L)).isSameAs(borrow);
+        verify(borrowService, never()).executeBatch(any());
+    }
+
+    @Test
+    void borrowBook_shouldCoalesceConcurrentCallers_andKeepTheirOwnOutcomes() throws Exception {
+        start(true, 2);
+        Borrow borrow = new Borrow();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        when(borrowService.executeBatch(any())).thenAnswer(inv -> {
+            List<BorrowCommand> commands = inv.getArgument(0);
+            batchSizes.add(commands.size());
+            return commands.stream()
+                    .map(command -> command.memberId() == 1L
+                            ? BorrowOutcome.success(borrow)
+                            : BorrowOutcome.failure(Rejection.BORROW_LIMIT_EXCEEDED.getException()))
+                    .toList();
+        });
+
+        CompletableFuture<Borrow> first = CompletableFuture.supplyAsync(() -> borrowCommandService.borrowBook(1L, 5L));
+        CompletableFuture<Borrow> second = CompletableFuture.supplyAsync(() -> borrowCommandService.borrowBook(2L, 5L));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(borrow);
+        assertThat(second).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(BusinessRejectionException.class);
+        assertThat(batchSizes).containsExactly(2);
+    }
+
+    @Test
+    void returnBook_shouldRunAlone_whenBatchFails() {
+        start(true, 1);
+        Borrow borrow = new Borrow();
+
+        when(borrowService.executeBatch(any())).thenThrow(new IllegalStateException("lock timeout"));
+        when(borrowService.returnBook(3L)).thenReturn(borrow);
+
+        assertThat(borrowCommandService.returnBook(3L)).isSameAs(borrow);
+    }
+
+    @Test
+    void returnBook_shouldRethrowCommandError() {
+        start(true, 1);
+
+        when(borrowService.executeBatch(any()))
+                .thenReturn(List.of(BorrowOutcome.failure(Rejection.ALREADY_RETURNED.getException())));
+
+        assertThrows(BusinessRejectionException.class, () -> borrowCommandService.returnBook(3L));
+    }
+
+    @Test
+    void returnBook_shouldWrapErrors_andKeepTheWorkerRunning() {
+        start(true, 1);
+        Borrow borrow = new Borrow();
+
+        when(borrowService.executeBatch(any()))
+                .thenThrow(new LinkageError("broken class"))
+                .thenReturn(List.of(BorrowOutcome.success(borrow)));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> borrowCommandService.returnBook(3L));
+        assertThat(ex).hasCauseInstanceOf(LinkageError.class);
+        assertThat(borrowCommandService.returnBook(3L)).isSameAs(borrow);
+    }
+
+    @Test
+    void returnBook_shouldStopWaiting_afterMaxWait() {
+        start(true, 1);
+        ReflectionTestUtils.setField(borrowCommandService, "maxWaitMs", 50L);
+
+        when(borrowService.executeBatch(any())).thenAnswer(inv -> {
+            Thread.sleep(1_000);
+            return List.of(BorrowOutcome.success(new Borrow()));
+        });
+
+        assertThrows(DeadlineExceededException.class, () -> borrowCommandService.returnBook(3L));
+    }
+
+    @Test
+    void returnBook_shouldBeRejected_onceStopped() {
+        start(true, 1);
+        borrowCommandService.stop();
+
+        assertThrows(RejectedExecutionException.class, () -> borrowCommandService.returnBook(3L));
+        verify(borrowService, never()).executeBatch(any());
+    }
+
+    private void start(boolean enabled, int maxSize) {
+        MockitoAnnotations.openMocks(this);
+        borrowCommandService = new BorrowCommandServiceImpl(borrowService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(borrowCommandService, "enabled", enabled);
+        ReflectionTestUtils.setField(borrowCommandService, "maxSize", maxSize);
+        ReflectionTestUtils.setField(borrowCommandService, "windowMicros", 1_000_000L);
+        ReflectionTestUtils.setField(borrowCommandService, "queueCapacity", 16);
+        ReflectionTestUtils.setField(borrowCommandService, "maxWaitMs", 5_000L);
+        borrowCommandService.start();
+    }
+}
@@ -2,26 +2,48 @@ package com.shadoww.library.service.impl;
 
 
 import com.shadoww.library.dto.BorrowCountDto;
+import com.shadoww.library.exception.BusinessRejectionException;
+import com.shadoww.library.exception.Rejection;
 import com.shadoww.library.model.Book;
 import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.BorrowHistory;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.model.ChangeEntityType;
 import com.shadoww.library.model.Member;
+import com.shadoww.library.repository.BorrowHistoryRepository;
 import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.repository.BorrowStockView;
+import com.shadoww.library.repository.FieldProjectionRepository;
+import com.shadoww.library.repository.OpenBorrowCountView;
+import com.shadoww.library.service.AlsoBorrowedService;
 import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowCommand;
+import com.shadoww.library.service.BorrowOutcome;
+import com.shadoww.library.service.BorrowStatsService;
+import com.shadoww.library.service.BranchService;
+import com.shadoww.library.service.ChangeFeedService;
 import com.shadoww.library.service.MemberService;
+import com.shadoww.library.service.TrendingService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class BorrowServiceImplTests {
@@ -30,9 +52,23 @@ public class BorrowServiceImplTests {
     @Mock
     private BorrowRepository borrowRepository;
     @Mock
+    private BorrowHistoryRepository borrowHistoryRepository;
+    @Mock
+    private FieldProjectionRepository fieldProjectionRepository;
+    @Mock
     private MemberService memberService;
     @Mock
     private BookService bookService;
+    @Mock
+    private BranchService branchService;
+    @Mock
+    private BorrowStatsService borrowStatsService;
+    @Mock
+    private ChangeFeedService changeFeedService;
+    @Mock
+    private AlsoBorrowedService alsoBorrowedService;
+    @Mock
+    private TrendingService trendingService;
 
     private BorrowServiceImpl borrowService;
 
@@ -46,8 +82,22 @@ public class BorrowServiceImplTests {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        borrowService = new BorrowServiceImpl(borrowRepository, memberService, bookService);
+        borrowService = new BorrowServiceImpl(
+                borrowRepository,
+                borrowHistoryRepository,
+                fieldProjectionRepository,
+                memberService,
+                bookService,
+                branchService,
+                borrowStatsService,
+                changeFeedService,
+                alsoBorrowedService,
+                trendingService
+        );
         ReflectionTestUtils.setField(borrowService, "borrowLimit", 10);
+        ReflectionTestUtils.setField(borrowService, "loanPeriodDays", 14);
+        ReflectionTestUtils.setField(borrowService, "historyMaxPageSize", 100);
+        ReflectionTestUtils.setField(borrowService, "overdueMaxPageSize", 100);
     }
 
     // === borrowBook ===
@@ -61,8 +111,8 @@ public class BorrowServiceImplTests {
         book.setId(bookId);
         book.setAmount(2);
 
-        when(memberService.findById(memberId)).thenReturn(member);
-        when(bookService.findById(bookId)).thenReturn(book);
+        when(memberService.findByIdForUpdate(memberId)).thenReturn(member);
+        when(bookService.findByIdForUpdate(bookId)).thenReturn(book);
         when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(Collections.emptyList());
         when(borrowRepository.save(any())).thenAnswer(inv -> {
             Borrow b = inv.getArgument(0);
@@ -75,6 +125,11 @@ public class BorrowServiceImplTests {
         assertThat(result.getMember()).isEqualTo(member);
         assertThat(result.getBook()).isEqualTo(book);
         assertThat(book.getAmount()).isEqualTo(1); // зменшено
+        assertThat(result.getDueDate()).isAfter(LocalDateTime.now().plusDays(13));
+        verify(borrowStatsService).recordBorrow(bookId, null);
+        verify(alsoBorrowedService).recordBorrow(memberId, bookId);
+        verify(trendingService).recordBorrow(bookId);
+        verify(changeFeedService).recordUpsert(ChangeEntityType.BOOK, bookId);
     }
 
     @Test
@@ -83,11 +138,15 @@ public class BorrowServiceImplTests {
         Book book = new Book();
         book.setAmount(0);
 
-        when(memberService.findById(memberId)).thenReturn(member);
-        when(bookService.findById(bookId)).thenReturn(book);
+        when(memberService.findByIdForUpdate(memberId)).thenReturn(member);
+        when(bookService.findByIdForUpdate(bookId)).thenReturn(book);
         when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(Collections.emptyList());
 
-        assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(memberId, bookId));
+        BusinessRejectionException ex = assertThrows(BusinessRejectionException.class,
+                () -> borrowService.borrowBook(memberId, bookId));
+
+        assertThat(ex.getRejection()).isEqualTo(Rejection.BOOK_NOT_AVAILABLE);
+        assertThat(ex.getStackTrace()).isEmpty();
     }
 
     @Test
@@ -99,11 +158,121 @@ public class BorrowServiceImplTests {
         List<Borrow> borrows = new ArrayList<>();
         for (int i = 0; i < 10; i++) borrows.add(new Borrow());
 
-        when(memberService.findById(memberId)).thenReturn(member);
-        when(bookService.findById(bookId)).thenReturn(book);
+        when(memberService.findByIdForUpdate(memberId)).thenReturn(member);
+        when(bookService.findByIdForUpdate(bookId)).thenReturn(book);
         when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(borrows);
 
-        assertThrows(IllegalStateException.class, () -> borrowService.borrowBook(memberId, bookId));
+        assertThrows(BusinessRejectionException.class, () -> borrowService.borrowBook(memberId, bookId));
+    }
+
+    @Test
+    void borrowBook_shouldTakeBranchStock_whenBranchGiven() {
+        Member member = new Member();
+        member.setId(memberId);
+
+        Book book = new Book();
+        book.setId(bookId);
+        book.setAmount(2);
+
+        BranchStock stock = stock(5L, 1);
+
+        when(memberService.findByIdForUpdate(memberId)).thenReturn(member);
+        when(branchService.findStockForUpdate(5L, bookId)).thenReturn(stock);
+        when(bookService.findById(bookId)).thenReturn(book);
+        when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(Collections.emptyList());
+        when(borrowRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        Borrow result = borrowService.borrowBook(memberId, bookId, 5L);
+
+        assertThat(result.getBranchId()).isEqualTo(5L);
+        assertThat(stock.getAmount()).isZero();
+        assertThat(book.getAmount()).isEqualTo(2);
+        verify(bookService, never()).findByIdForUpdate(any());
+        verify(branchService).recordBorrow(5L);
+        verify(borrowStatsService).recordBorrow(bookId, 5L);
+        verify(changeFeedService, never()).recordUpsert(ChangeEntityType.BOOK, bookId);
+    }
+
+    @Test
+    void borrowBook_shouldThrow_whenBranchHasNoCopyOnShelf() {
+        Member member = new Member();
+
+        when(memberService.findByIdForUpdate(memberId)).thenReturn(member);
+        when(branchService.findStockForUpdate(5L, bookId)).thenReturn(stock(5L, 0));
+        when(bookService.findById(bookId)).thenReturn(new Book());
+        when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(Collections.emptyList());
+
+        BusinessRejectionException ex = assertThrows(BusinessRejectionException.class,
+                () -> borrowService.borrowBook(memberId, bookId, 5L));
+
+        assertThat(ex.getRejection()).isEqualTo(Rejection.BOOK_NOT_AVAILABLE);
+    }
+
+    // === executeBatch ===
+
+    @Test
+    void executeBatch_shouldGiveEachCommandItsOwnOutcome() {
+        ReflectionTestUtils.setField(borrowService, "borrowLimit", 1);
+
+        Member member = new Member();
+        member.setId(memberId);
+
+        Book book = new Book();
+        book.setId(bookId);
+        book.setAmount(5);
+
+        Borrow open = new Borrow();
+        open.setId(borrowId);
+        open.setBook(book);
+        open.setMember(member);
+
+        when(borrowRepository.findStocksByIdIn(Set.of(borrowId, 9L))).thenReturn(List.of(source(bookId, null)));
+        when(memberService.findAllByIdForUpdate(Set.of(memberId, 7L))).thenReturn(Map.of(memberId, member));
+        when(bookService.findAllByIdForUpdate(Set.of(bookId))).thenReturn(Map.of(bookId, book));
+        when(borrowRepository.findAllByIdForUpdate(Set.of(borrowId, 9L))).thenReturn(List.of(open));
+        when(borrowRepository.countOpenByMemberIdIn(Set.of(memberId))).thenReturn(List.of(openBorrows(memberId, 1)));
+        when(borrowRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BorrowOutcome> outcomes = borrowService.executeBatch(List.of(
+                BorrowCommand.borrow(memberId, bookId),    // over the limit
+                BorrowCommand.giveBack(borrowId),          // frees a slot
+                BorrowCommand.borrow(memberId, bookId),
+                BorrowCommand.borrow(7L, bookId),          // unknown member
+                BorrowCommand.giveBack(9L)                 // unknown borrow
+        ));
+
+        assertThat(outcomes.get(0).error()).isSameAs(Rejection.BORROW_LIMIT_EXCEEDED.getException());
+        assertThat(outcomes.get(1).borrow()).isSameAs(open);
+        assertThat(outcomes.get(2).borrow().getMember()).isEqualTo(member);
+        assertThat(outcomes.get(3).error()).isInstanceOf(EntityNotFoundException.class);
+        assertThat(outcomes.get(4).error()).isInstanceOf(EntityNotFoundException.class);
+        assertThat(book.getAmount()).isEqualTo(5);
+        verify(borrowStatsService).record(bookId, null, 1, 1);
+        verify(changeFeedService).recordUpserts(ChangeEntityType.BOOK, Set.of(bookId));
+    }
+
+    @Test
+    void executeBatch_shouldRejectBorrow_whenBatchTookTheLastCopy() {
+        Member member = new Member();
+        member.setId(memberId);
+
+        Book book = new Book();
+        book.setId(bookId);
+        book.setAmount(1);
+
+        when(memberService.findAllByIdForUpdate(Set.of(memberId))).thenReturn(Map.of(memberId, member));
+        when(bookService.findAllByIdForUpdate(Set.of(bookId))).thenReturn(Map.of(bookId, book));
+        when(borrowRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BorrowOutcome> outcomes = borrowService.executeBatch(List.of(
+                BorrowCommand.borrow(memberId, bookId),
+                BorrowCommand.borrow(memberId, bookId)
+        ));
+
+        assertThat(outcomes.get(0).error()).isNull();
+        assertThat(outcomes.get(1).error()).isSameAs(Rejection.BOOK_NOT_AVAILABLE.getException());
+        assertThat(book.getAmount()).isZero();
+        verify(borrowRepository, never()).findAllByIdForUpdate(any());
     }
 
     // === returnBook ===
@@ -111,13 +280,16 @@ public class BorrowServiceImplTests {
     @Test
     void returnBook_shouldSucceed_whenValid() {
         Book book = new Book();
+        book.setId(bookId);
         book.setAmount(1);
 
         Borrow borrow = new Borrow();
         borrow.setBook(book);
         borrow.setReturned(false);
 
-        when(borrowRepository.findById(borrowId)).thenReturn(Optional.of(borrow));
+        when(borrowRepository.findStockById(borrowId)).thenReturn(Optional.of(source(bookId, null)));
+        when(bookService.findByIdForUpdate(bookId)).thenReturn(book);
+        when(borrowRepository.findByIdForUpdate(borrowId)).thenReturn(Optional.of(borrow));
         when(borrowRepository.save(borrow)).thenReturn(borrow);
 
         Borrow result = borrowService.returnBook(borrowId);
@@ -125,6 +297,33 @@ public class BorrowServiceImplTests {
         assertThat(result.isReturned()).isTrue();
         assertThat(result.getReturnDate()).isNotNull();
         assertThat(book.getAmount()).isEqualTo(2);
+        verify(borrowStatsService).recordReturn(bookId, null);
+    }
+
+    @Test
+    void returnBook_shouldRestockBranch_whenLentByBranch() {
+        Book book = new Book();
+        book.setId(bookId);
+        book.setAmount(1);
+
+        Borrow borrow = new Borrow();
+        borrow.setBook(book);
+        borrow.setBranchId(5L);
+
+        BranchStock stock = stock(5L, 0);
+
+        when(borrowRepository.findStockById(borrowId)).thenReturn(Optional.of(source(bookId, 5L)));
+        when(branchService.findStockForUpdate(5L, bookId)).thenReturn(stock);
+        when(borrowRepository.findByIdForUpdate(borrowId)).thenReturn(Optional.of(borrow));
+        when(borrowRepository.save(borrow)).thenReturn(borrow);
+
+        borrowService.returnBook(borrowId);
+
+        assertThat(stock.getAmount()).isEqualTo(1);
+        assertThat(book.getAmount()).isEqualTo(1);
+        verify(bookService, never()).findByIdForUpdate(any());
+        verify(branchService).recordReturn(5L);
+        verify(borrowStatsService).recordReturn(bookId, 5L);
     }
 
     @Test
@@ -132,14 +331,15 @@ public class BorrowServiceImplTests {
         Borrow borrow = new Borrow();
         borrow.setReturned(true);
 
-        when(borrowRepository.findById(borrowId)).thenReturn(Optional.of(borrow));
+        when(borrowRepository.findStockById(borrowId)).thenReturn(Optional.of(source(bookId, null)));
+        when(borrowRepository.findByIdForUpdate(borrowId)).thenReturn(Optional.of(borrow));
 
-        assertThrows(IllegalStateException.class, () -> borrowService.returnBook(borrowId));
+        assertThrows(BusinessRejectionException.class, () -> borrowService.returnBook(borrowId));
     }
 
     @Test
     void returnBook_shouldThrow_whenBorrowNotFound() {
-        when(borrowRepository.findById(borrowId)).thenReturn(Optional.empty());
+        when(borrowRepository.findStockById(borrowId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> borrowService.returnBook(borrowId));
     }
@@ -157,6 +357,39 @@ public class BorrowServiceImplTests {
         assertThat(result).isEqualTo(borrows);
     }
 
+    @Test
+    void getBorrowsByMemberName_shouldIncludeArchivedBorrowsInDateOrder() {
+        Borrow active = new Borrow();
+        active.setBorrowDate(LocalDateTime.now());
+
+        BorrowHistory archived = new BorrowHistory();
+        archived.setId(borrowId);
+        archived.setBookTitle(titleX);
+        archived.setBorrowDate(LocalDateTime.now().minusMonths(3));
+        archived.setReturnDate(LocalDateTime.now().minusMonths(2));
+
+        when(borrowRepository.findByMember_NameIgnoreCase(memberName)).thenReturn(List.of(active));
+        when(borrowHistoryRepository.findByMemberNameIgnoreCase(memberName)).thenReturn(List.of(archived));
+
+        List<Borrow> result = borrowService.getBorrowsByMemberName(memberName);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getId()).isEqualTo(borrowId);
+        assertThat(result.get(0).getBook().getTitle()).isEqualTo(titleX);
+        assertThat(result.get(0).isReturned()).isTrue();
+        assertThat(result.get(1)).isEqualTo(active);
+    }
+
+    @Test
+    void getBorrowsByMemberNameFields_shouldReturnProjectedRows() {
+        List<String> fields = List.of("bookTitle");
+        List<Map<String, Object>> rows = List.of(Map.of("bookTitle", titleX));
+
+        when(fieldProjectionRepository.findBorrowsByMemberName(memberName, fields)).thenReturn(rows);
+
+        assertThat(borrowService.getBorrowsByMemberName(memberName, fields)).isEqualTo(rows);
+    }
+
     // === getAllDistinctBorrowedBookTitles ===
 
     @Test
@@ -196,4 +429,147 @@ public class BorrowServiceImplTests {
         assertThat(map.get(titleX)).isEqualTo(2L);
         assertThat(map.get(titleY)).isEqualTo(1L);
     }
+
+    // === getOverdueBorrows ===
+
+    @Test
+    void getOverdueBorrows_shouldReadOneRowPastThePage_toTellIfThereIsMore() {
+        Borrow first = new Borrow();
+        first.setId(4L);
+        first.setDueDate(LocalDateTime.now().minusDays(2));
+        Borrow second = new Borrow();
+        second.setId(5L);
+        second.setDueDate(LocalDateTime.now().minusDays(1));
+
+        when(borrowRepository.findFirstOverduePage(any(LocalDateTime.class), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(first, second));
+
+        Slice<Borrow> result = borrowService.getOverdueBorrows(null, null, 1);
+
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void getOverdueBorrows_shouldContinueAfterCursor() {
+        LocalDateTime cursor = LocalDateTime.now().minusDays(3);
+
+        when(borrowRepository.findNextOverduePage(any(LocalDateTime.class), eq(cursor), eq(4L), eq(PageRequest.of(0, 21))))
+                .thenReturn(List.of());
+
+        Slice<Borrow> result = borrowService.getOverdueBorrows(cursor, 4L, 20);
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void getOverdueBorrows_shouldThrow_whenSizeOrCursorInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> borrowService.getOverdueBorrows(null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> borrowService.getOverdueBorrows(null, null, -5));
+        assertThrows(IllegalArgumentException.class, () -> borrowService.getOverdueBorrows(null, null, 101));
+        assertThrows(IllegalArgumentException.class, () -> borrowService.getOverdueBorrows(LocalDateTime.now(), null, 20));
+    }
+
+    // === getMemberHistory ===
+
+    @Test
+    void getMemberHistory_shouldMergeActiveAndArchivedNewestFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        Borrow recent = borrow(30L, now.minusDays(1));
+        Borrow older = borrow(20L, now.minusDays(5));
+        BorrowHistory archived = history(10L, now.minusDays(20));
+        BorrowHistory oldest = history(5L, now.minusDays(40));
+
+        when(borrowRepository.findMemberHistoryPage(eq(memberId), any(), any(), eq(false), any(), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 3)))).thenReturn(List.of(recent, older));
+        when(borrowHistoryRepository.findMemberHistoryPage(eq(memberId), any(), any(), any(), eq(Long.MAX_VALUE),
+                eq(PageRequest.of(0, 3)))).thenReturn(List.of(archived, oldest));
+
+        Slice<Borrow> result = borrowService.getMemberHistory(memberId, null, null, false, null, null, 2);
+
+        assertThat(result.getContent()).extracting(Borrow::getId).containsExactly(30L, 20L);
+        assertThat(result.hasNext()).isTrue();
+        verify(memberService).findById(memberId);
+    }
+
+    @Test
+    void getMemberHistory_shouldSkipArchive_whenActiveOnly() {
+        LocalDateTime cursor = LocalDateTime.now().minusDays(2);
+        Borrow active = borrow(7L, cursor.minusDays(1));
+
+        when(borrowRepository.findMemberHistoryPage(eq(memberId), eq(LocalDate.of(2024, 1, 1).atStartOfDay()),
+                eq(LocalDate.of(2024, 2, 1).atStartOfDay()), eq(true), eq(cursor), eq(9L), eq(PageRequest.of(0, 11))))
+                .thenReturn(List.of(active));
+
+        Slice<Borrow> result = borrowService.getMemberHistory(memberId,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), true, cursor, 9L, 10);
+
+        assertThat(result.getContent()).containsExactly(active);
+        assertThat(result.hasNext()).isFalse();
+        verify(borrowHistoryRepository, never()).findMemberHistoryPage(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getMemberHistory_shouldThrow_whenCursorIncomplete() {
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowService.getMemberHistory(memberId, null, null, false, LocalDateTime.now(), null, 10));
+    }
+
+    private Borrow borrow(Long id, LocalDateTime borrowDate) {
+        Book book = new Book();
+        book.setId(bookId);
+
+        Borrow borrow = new Borrow();
+        borrow.setId(id);
+        borrow.setBook(book);
+        borrow.setBorrowDate(borrowDate);
+        return borrow;
+    }
+
+    private OpenBorrowCountView openBorrows(Long memberId, long count) {
+        return new OpenBorrowCountView() {
+            @Override
+            public Long getMemberId() {
+                return memberId;
+            }
+
+            @Override
+            public long getOpenBorrows() {
+                return count;
+            }
+        };
+    }
+
+    private BorrowStockView source(Long bookId, Long branchId) {
+        return new BorrowStockView() {
+            @Override
+            public Long getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public Long getBranchId() {
+                return branchId;
+            }
+        };
+    }
+
+    private BranchStock stock(Long branchId, int amount) {
+        BranchStock stock = new BranchStock();
+        stock.setBranchId(branchId);
+        stock.setBookId(bookId);
+        stock.setAmount(amount);
+        stock.setTotalCopies(1);
+        return stock;
+    }
+
+    private BorrowHistory history(Long id, LocalDateTime borrowDate) {
+        BorrowHistory history = new BorrowHistory();
+        history.setId(id);
+        history.setBookId(bookId);
+        history.setMemberId(memberId);
+        history.setBorrowDate(borrowDate);
+        return history;
+    }
 }
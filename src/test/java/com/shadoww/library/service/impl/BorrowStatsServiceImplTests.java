@@ -0,0 +1,78 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.TopBorrowedBookDto;
+import com.shadoww.library.model.BorrowDailyStat;
+import com.shadoww.library.repository.BorrowDailyStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BorrowStatsServiceImplTests {
+
+    @Mock
+    private BorrowDailyStatRepository borrowDailyStatRepository;
+
+    @InjectMocks
+    private BorrowStatsServiceImpl borrowStatsService;
+
+    private final Long bookId = 1L;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(borrowStatsService, "topMaxResults", 50);
+    }
+
+    @Test
+    void recordBorrow_shouldIncrementTodaysBorrows() {
+        borrowStatsService.recordBorrow(bookId, null);
+
+        verify(borrowDailyStatRepository).increment(bookId, BorrowDailyStat.CENTRAL, LocalDate.now(), 1, 0);
+    }
+
+    @Test
+    void recordReturn_shouldIncrementTodaysReturns() {
+        borrowStatsService.recordReturn(bookId, 5L);
+
+        verify(borrowDailyStatRepository).increment(bookId, 5L, LocalDate.now(), 0, 1);
+    }
+
+    @Test
+    void getTopBorrowed_shouldQueryOnlyTheWindow() {
+        List<TopBorrowedBookDto> top = List.of(new TopBorrowedBookDto(bookId, "Clean Code", 5, 3));
+
+        when(borrowDailyStatRepository.findTopBorrowedSince(LocalDate.now().minusDays(6), PageRequest.of(0, 10)))
+                .thenReturn(top);
+
+        List<TopBorrowedBookDto> result = borrowStatsService.getTopBorrowed(Duration.ofDays(7), 10);
+
+        assertThat(result).isEqualTo(top);
+    }
+
+    @Test
+    void getTopBorrowed_shouldThrow_whenWindowShorterThanDay() {
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowStatsService.getTopBorrowed(Duration.ofHours(3), 10));
+    }
+
+    @Test
+    void getTopBorrowed_shouldThrow_whenLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowStatsService.getTopBorrowed(Duration.ofDays(7), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowStatsService.getTopBorrowed(Duration.ofDays(7), 51));
+    }
+}
@@ -0,0 +1,186 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BranchAvailabilityDto;
+import com.shadoww.library.exception.BusinessRejectionException;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Branch;
+import com.shadoww.library.model.BranchStock;
+import com.shadoww.library.repository.BranchRepository;
+import com.shadoww.library.repository.BranchStockRepository;
+import com.shadoww.library.service.BookService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BranchServiceImplTests {
+
+    @Mock
+    private BranchRepository branchRepository;
+    @Mock
+    private BranchStockRepository branchStockRepository;
+    @Mock
+    private BookService bookService;
+
+    private BranchServiceImpl branchService;
+
+    private final Long branchId = 5L;
+    private final Long bookId = 2L;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        branchService = new BranchServiceImpl(branchRepository, branchStockRepository, bookService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(branchService, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(branchService, "cacheMaxEntries", 100);
+        ReflectionTestUtils.setField(branchService, "lookupMaxIds", 3);
+        ReflectionTestUtils.setField(branchService, "lookupChunkSize", 2);
+
+        when(branchRepository.existsById(branchId)).thenReturn(true);
+        when(branchRepository.findById(branchId)).thenReturn(Optional.of(new Branch()));
+        when(bookService.findById(bookId)).thenReturn(new Book());
+        when(branchStockRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    // === setCopies ===
+
+    @Test
+    void setCopies_shouldKeepCopiesOnLoan() {
+        when(branchStockRepository.findForUpdate(branchId, bookId)).thenReturn(Optional.of(stock(1, 3)));
+
+        BranchStock result = branchService.setCopies(branchId, bookId, 5);
+
+        assertThat(result.getTotalCopies()).isEqualTo(5);
+        assertThat(result.getAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void setCopies_shouldReject_whenRemovingCopiesOnLoan() {
+        when(branchStockRepository.findForUpdate(branchId, bookId)).thenReturn(Optional.of(stock(1, 3)));
+
+        BusinessRejectionException ex = assertThrows(BusinessRejectionException.class,
+                () -> branchService.setCopies(branchId, bookId, 1));
+
+        assertThat(ex.getRejection()).isEqualTo(Rejection.COPIES_ON_LOAN);
+    }
+
+    @Test
+    void setCopies_shouldCreateStock_whenBranchHasNone() {
+        when(branchStockRepository.findForUpdate(branchId, bookId)).thenReturn(Optional.empty());
+
+        BranchStock result = branchService.setCopies(branchId, bookId, 2);
+
+        assertThat(result.getBranchId()).isEqualTo(branchId);
+        assertThat(result.getAmount()).isEqualTo(2);
+    }
+
+    // === findAvailabilityById ===
+
+    @Test
+    void findAvailabilityById_shouldServeRepeatedReadsFromBranchCache() {
+        when(branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId, 9L)))
+                .thenReturn(List.of(new BranchAvailabilityDto(branchId, bookId, 1)));
+
+        branchService.findAvailabilityById(branchId, List.of(bookId, 9L));
+        Map<Long, BranchAvailabilityDto> result = branchService.findAvailabilityById(branchId, List.of(bookId));
+
+        assertThat(result).containsOnlyKeys(bookId);
+        verify(branchStockRepository, times(1)).findAvailabilityByBranchIdAndBookIdIn(any(), any());
+    }
+
+    @Test
+    void findAvailabilityById_shouldReload_whenStockWasLocked() {
+        when(branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId)))
+                .thenReturn(List.of(new BranchAvailabilityDto(branchId, bookId, 1)));
+        when(branchStockRepository.findForUpdate(branchId, bookId)).thenReturn(Optional.of(stock(1, 1)));
+
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+        branchService.findStockForUpdate(branchId, bookId); // no transaction here, so evicted at once
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+
+        verify(branchStockRepository, times(2)).findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId));
+    }
+
+    @Test
+    void findAvailabilityById_shouldRefreshExpiredEntry_whenCacheIsFull() throws InterruptedException {
+        ReflectionTestUtils.setField(branchService, "cacheTtlMs", 20L);
+        ReflectionTestUtils.setField(branchService, "cacheMaxEntries", 1);
+        when(branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId)))
+                .thenReturn(List.of(new BranchAvailabilityDto(branchId, bookId, 1)));
+
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+        Thread.sleep(40);
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+
+        verify(branchStockRepository, times(2)).findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId));
+    }
+
+    @Test
+    void findAvailabilityById_shouldMakeRoomForNewBooks_onceEntriesExpire() throws InterruptedException {
+        ReflectionTestUtils.setField(branchService, "cacheTtlMs", 20L);
+        ReflectionTestUtils.setField(branchService, "cacheMaxEntries", 1);
+        when(branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(bookId)))
+                .thenReturn(List.of(new BranchAvailabilityDto(branchId, bookId, 1)));
+        when(branchStockRepository.findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(9L)))
+                .thenReturn(List.of(new BranchAvailabilityDto(branchId, 9L, 2)));
+
+        branchService.findAvailabilityById(branchId, List.of(bookId));
+        Thread.sleep(40);
+        branchService.findAvailabilityById(branchId, List.of(9L));
+        branchService.findAvailabilityById(branchId, List.of(9L));
+
+        verify(branchStockRepository, times(1)).findAvailabilityByBranchIdAndBookIdIn(branchId, List.of(9L));
+    }
+
+    @Test
+    void findAvailabilityById_shouldThrow_whenBranchNotFound() {
+        assertThrows(EntityNotFoundException.class, () -> branchService.findAvailabilityById(7L, List.of(bookId)));
+    }
+
+    // === findAvailabilityAcrossBranches ===
+
+    @Test
+    void findAvailabilityAcrossBranches_shouldGroupByBookInRequestOrder() {
+        when(branchStockRepository.findAvailableByBookIdIn(List.of(3L, bookId))).thenReturn(List.of(
+                new BranchAvailabilityDto(branchId, bookId, 1),
+                new BranchAvailabilityDto(6L, bookId, 2)));
+        when(branchStockRepository.findAvailableByBookIdIn(List.of(4L))).thenReturn(List.of());
+
+        Map<Long, List<BranchAvailabilityDto>> result = branchService.findAvailabilityAcrossBranches(List.of(3L, bookId, 4L));
+
+        assertThat(result.keySet()).containsExactly(3L, bookId, 4L);
+        assertThat(result.get(3L)).isEmpty();
+        assertThat(result.get(bookId)).hasSize(2);
+    }
+
+    @Test
+    void findAvailabilityAcrossBranches_shouldThrow_whenTooManyIds() {
+        assertThrows(IllegalArgumentException.class,
+                () -> branchService.findAvailabilityAcrossBranches(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    private BranchStock stock(int amount, int totalCopies) {
+        BranchStock stock = new BranchStock();
+        stock.setBranchId(branchId);
+        stock.setBookId(bookId);
+        stock.setAmount(amount);
+        stock.setTotalCopies(totalCopies);
+        return stock;
+    }
+}
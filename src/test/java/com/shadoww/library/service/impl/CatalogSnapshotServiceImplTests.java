@@ -0,0 +1,65 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BookAvailabilityDto;
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.service.CatalogSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class CatalogSnapshotServiceImplTests {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private CatalogSnapshotServiceImpl catalogSnapshotService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        catalogSnapshotService = new CatalogSnapshotServiceImpl(bookRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getSnapshot_shouldBeEmpty_beforeFirstRefresh() {
+        assertThat(catalogSnapshotService.getSnapshot()).isEmpty();
+    }
+
+    @Test
+    void refresh_shouldServeBooksAndAvailability() {
+        when(bookRepository.findAllResponses()).thenReturn(List.of(
+                new BookResponseDto(1L, "Dune", "Herbert", 2),
+                new BookResponseDto(2L, "Emma", "Austen", 0)));
+
+        catalogSnapshotService.refresh();
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot().orElseThrow();
+
+        assertThat(snapshot.findById(2L)).contains(new BookResponseDto(2L, "Emma", "Austen", 0));
+        assertThat(snapshot.findAllById(List.of(2L, 3L, 1L)).keySet()).containsExactly(2L, 1L);
+        assertThat(snapshot.findAvailabilityById(List.of(1L, 2L)).values()).containsExactly(
+                new BookAvailabilityDto(1L, 2, true),
+                new BookAvailabilityDto(2L, 0, false));
+        assertThat(snapshot.findAll(List.of("title", "id")).get(0)).containsExactly(
+                Map.entry("id", 1L), Map.entry("title", "Dune"));
+    }
+
+    @Test
+    void findAll_shouldThrow_whenFieldUnknown() {
+        when(bookRepository.findAllResponses()).thenReturn(List.of());
+
+        catalogSnapshotService.refresh();
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot().orElseThrow();
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.findAll(List.of("isbn")));
+    }
+}
@@ -0,0 +1,161 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.ChangePageDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.model.ChangeLogEntry;
+import com.shadoww.library.model.ChangeOperation;
+import com.shadoww.library.repository.ChangeLogRepository;
+import com.shadoww.library.repository.ChangeSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ChangeFeedServiceImplTests {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+    @Mock
+    private ChangeSequenceRepository changeSequenceRepository;
+
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        TransactionSynchronizationManager.initSynchronization();
+
+        when(changeLogRepository.findMaxSeq()).thenReturn(9L);
+        when(changeSequenceRepository.nextBlock()).thenReturn(10L, 60L);
+
+        changeFeedService = new ChangeFeedServiceImpl(changeLogRepository, changeSequenceRepository);
+        ReflectionTestUtils.setField(changeFeedService, "maxLimit", 10);
+        ReflectionTestUtils.setField(changeFeedService, "maxWaitMs", 50L);
+        ReflectionTestUtils.setField(changeFeedService, "seqBlockSize", 50);
+        changeFeedService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void start_shouldCreateSequence_pastTheLastRecordedSeq() {
+        verify(changeSequenceRepository).createIfMissing(10L, 50);
+        assertThat(changeFeedService.getVisibleSeq()).isEqualTo(9L);
+    }
+
+    @Test
+    void recordUpsert_shouldTakeSeqFromBlock_withoutRoundTrip() {
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, 3L);
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, 4L);
+
+        ArgumentCaptor<ChangeLogEntry> captor = ArgumentCaptor.forClass(ChangeLogEntry.class);
+        verify(changeLogRepository, times(2)).save(captor.capture());
+        verify(changeSequenceRepository, times(1)).nextBlock();
+
+        ChangeLogEntry entry = captor.getAllValues().get(0);
+        assertThat(entry.getSeq()).isEqualTo(10L);
+        assertThat(captor.getAllValues().get(1).getSeq()).isEqualTo(11L);
+        assertThat(entry.getEntityType()).isEqualTo(ChangeEntityType.BOOK);
+        assertThat(entry.getEntityId()).isEqualTo(3L);
+        assertThat(entry.getOperation()).isEqualTo(ChangeOperation.UPSERT);
+    }
+
+    @Test
+    void getVisibleSeq_shouldStayBelowPendingSeq_untilItsTransactionCompletes() {
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, 3L);
+        changeFeedService.recordUpsert(ChangeEntityType.BOOK, 4L);
+        List<TransactionSynchronization> transactions = TransactionSynchronizationManager.getSynchronizations();
+
+        // seq 11 commits first; seq 10 may still commit, so readers stop before it
+        transactions.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(changeFeedService.getVisibleSeq()).isEqualTo(9L);
+
+        transactions.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(changeFeedService.getVisibleSeq()).isEqualTo(11L);
+    }
+
+    @Test
+    void getChanges_shouldReportMore_whenPageIsFull() {
+        when(changeLogRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(4L, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(entry(5L), entry(6L), entry(9L)));
+
+        ChangePageDto page = changeFeedService.getChanges(4L, 2);
+
+        assertThat(page.changes()).extracting("seq").containsExactly(5L, 6L);
+        assertThat(page.nextSince()).isEqualTo(6L);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_shouldKeepSince_whenNothingNew() {
+        when(changeLogRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(4L, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of());
+
+        ChangePageDto page = changeFeedService.getChanges(4L, 2);
+
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.nextSince()).isEqualTo(4L);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @Test
+    void getChanges_shouldThrow_whenLimitTooLarge() {
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChanges(0L, 11));
+    }
+
+    @Test
+    void awaitChanges_shouldReturnEmptyPage_whenWaitEnds() {
+        when(changeLogRepository.findBySeqGreaterThanAndSeqLessThanEqualOrderBySeq(4L, 9L, PageRequest.of(0, 3)))
+                .thenReturn(List.of());
+
+        CompletableFuture<ChangePageDto> result = changeFeedService.awaitChanges(4L, 2, Duration.ofMinutes(1));
+
+        assertThat(result.join().changes()).isEmpty();
+    }
+
+    @Test
+    void compact_shouldDeleteSupersededUpToWatermark() {
+        when(changeLogRepository.deleteSupersededUpTo(9L)).thenReturn(5);
+
+        assertThat(changeFeedService.compact()).isEqualTo(5);
+    }
+
+    @Test
+    void compact_shouldSkip_whenNothingRecorded() {
+        when(changeLogRepository.findMaxSeq()).thenReturn(null);
+        changeFeedService.start();
+
+        assertThat(changeFeedService.compact()).isZero();
+        verify(changeLogRepository, never()).deleteSupersededUpTo(anyLong());
+    }
+
+    private ChangeLogEntry entry(long seq) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setSeq(seq);
+        entry.setEntityType(ChangeEntityType.MEMBER);
+        entry.setEntityId(seq * 10);
+        entry.setOperation(ChangeOperation.UPSERT);
+        return entry;
+    }
+}
@@ -0,0 +1,224 @@
+package com.shadoww.library.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.dto.ImportReportDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.repository.BookImportRow;
+import com.shadoww.library.repository.CatalogBulkRepository;
+import com.shadoww.library.service.ChangeFeedService;
+import com.shadoww.library.service.ImportFormat;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ImportServiceImplTests {
+
+    @Mock
+    private CatalogBulkRepository catalogBulkRepository;
+    @Mock
+    private ChangeFeedService changeFeedService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportServiceImpl importService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        importService = new ImportServiceImpl(
+                catalogBulkRepository,
+                changeFeedService,
+                transactionManager,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator()
+        );
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 10);
+    }
+
+    @Test
+    void importBooks_shouldSumCopiesOfDuplicatesWithinChunk() {
+        InputStream csv = stream("""
+                title,author,copies
+                Clean Code,Robert Martin,2
+                clean code,robert martin
+                "Refactoring, 2nd Edition",Martin Fowler,3
+                """);
+
+        ReportAndRows result = importBooks(csv, ImportFormat.CSV, 1);
+
+        assertThat(result.report().rowsRead()).isEqualTo(3);
+        assertThat(result.report().rowsApplied()).isEqualTo(3);
+        assertThat(result.rows().get(0)).containsExactly(
+                new BookImportRow("Clean Code", "Robert Martin", 3),
+                new BookImportRow("Refactoring, 2nd Edition", "Martin Fowler", 3)
+        );
+    }
+
+    @Test
+    void importBooks_shouldReportInvalidRowsAndKeepGoing() {
+        InputStream ndjson = stream("""
+                {"title":"Clean Code","author":"Robert Martin"}
+                {"title":"CC","author":"robert"}
+                not json
+                {"title":"Domain Driven","author":"Eric Evans","copies":"many"}
+                """);
+
+        ReportAndRows result = importBooks(ndjson, ImportFormat.NDJSON, 1);
+
+        assertThat(result.report().rowsRead()).isEqualTo(4);
+        assertThat(result.report().rowsApplied()).isEqualTo(1);
+        assertThat(result.report().rowsRejected()).isEqualTo(3);
+        assertThat(result.report().errors()).extracting("line").containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    void importBooks_shouldRecordUpsertedBooksInChangeFeed() {
+        when(catalogBulkRepository.upsertBooks(anyCollection())).thenReturn(List.of(7L, 9L));
+
+        importService.importBooks(stream("""
+                Clean Code,Robert Martin
+                Refactoring,Martin Fowler
+                """), ImportFormat.CSV);
+
+        verify(changeFeedService).recordUpserts(ChangeEntityType.BOOK, List.of(7L, 9L));
+        verify(transactionManager).commit(null);
+    }
+
+    @Test
+    void importBooks_shouldRejectEveryRow_whenEachUpsertFails() {
+        when(catalogBulkRepository.upsertBooks(anyCollection()))
+                .thenThrow(new DataIntegrityViolationException("duplicate title"));
+
+        ImportReportDto report = importService.importBooks(stream("""
+                Clean Code,Robert Martin
+                Refactoring,Martin Fowler
+                """), ImportFormat.CSV);
+
+        assertThat(report.rowsApplied()).isZero();
+        assertThat(report.rowsRejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting("line").containsExactly(1L, 2L);
+        verify(changeFeedService, never()).recordUpserts(any(), anyCollection());
+    }
+
+    @Test
+    void importBooks_shouldRejectOnlyTheConflictingRow_ofAFailedChunk() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 3);
+        when(catalogBulkRepository.upsertBooks(argThat(rows -> rows.stream().anyMatch(row -> row.title().equals("Dune")))))
+                .thenThrow(new DataIntegrityViolationException("title already taken"));
+
+        ImportReportDto report = importService.importBooks(stream("""
+                Clean Code,Robert Martin
+                Dune,Brian Herbert
+                Refactoring,Martin Fowler
+                """), ImportFormat.CSV);
+
+        assertThat(report.rowsApplied()).isEqualTo(2);
+        assertThat(report.rowsRejected()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+                .satisfies(error -> {
+                    assertThat(error.line()).isEqualTo(2L);
+                    assertThat(error.message()).isEqualTo("title already taken");
+                });
+    }
+
+    @Test
+    void importMembers_shouldRecordInsertedMembersInChangeFeed() {
+        when(catalogBulkRepository.insertMembers(List.of("Alice", "Bob"))).thenReturn(List.of(3L, 4L));
+
+        importService.importMembers(stream("""
+                Alice
+                Bob
+                """), ImportFormat.CSV);
+
+        verify(changeFeedService).recordUpserts(ChangeEntityType.MEMBER, List.of(3L, 4L));
+        verify(transactionManager).commit(null);
+    }
+
+    @Test
+    void importMembers_shouldInsertInChunks() {
+        ImportReportDto report = importService.importMembers(stream("""
+                name
+                Alice
+                Bob
+                Carol
+                
+                """), ImportFormat.CSV);
+
+        assertThat(report.rowsRead()).isEqualTo(3);
+        assertThat(report.rowsApplied()).isEqualTo(3);
+        verify(catalogBulkRepository).insertMembers(List.of("Alice", "Bob"));
+        verify(catalogBulkRepository).insertMembers(List.of("Carol"));
+    }
+
+    @Test
+    void importBooks_shouldKeepFirstRow_thatOnlyStartsWithTheColumnName() {
+        ReportAndRows result = importBooks(stream("""
+                Title Fight,Robert Martin,2
+                "TITLE",Martin Fowler
+                """), ImportFormat.CSV, 1);
+
+        assertThat(result.report().rowsRead()).isEqualTo(2);
+        assertThat(result.rows().get(0)).extracting(BookImportRow::title).containsExactly("Title Fight", "TITLE");
+    }
+
+    @Test
+    void importBooks_shouldSkipHeader_underAnyDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            ReportAndRows result = importBooks(stream("""
+                    TITLE,AUTHOR,COPIES
+                    Clean Code,Robert Martin,2
+                    """), ImportFormat.CSV, 1);
+
+            assertThat(result.report().rowsRead()).isEqualTo(1);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void splitCsv_shouldHandleQuotedFields() {
+        assertThat(ImportRowReader.splitCsv("\"a, \"\"b\"\"\",c,"))
+                .containsExactly("a, \"b\"", "c", "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReportAndRows importBooks(InputStream in, ImportFormat format, int expectedChunks) {
+        ImportReportDto report = importService.importBooks(in, format);
+
+        ArgumentCaptor<List<BookImportRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(catalogBulkRepository, times(expectedChunks)).upsertBooks(captor.capture());
+
+        return new ReportAndRows(report, captor.getAllValues());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record ReportAndRows(ImportReportDto report, List<List<BookImportRow>> rows) {
+    }
+}
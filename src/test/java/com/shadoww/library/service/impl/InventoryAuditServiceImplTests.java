@@ -0,0 +1,111 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.InventoryAuditReportDto;
+import com.shadoww.library.dto.InventoryCheckDto;
+import com.shadoww.library.model.ChangeEntityType;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.repository.ChangeLogRepository;
+import com.shadoww.library.service.ChangeFeedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InventoryAuditServiceImplTests {
+
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InventoryAuditServiceImpl inventoryAuditService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        inventoryAuditService = new InventoryAuditServiceImpl(bookRepository, changeLogRepository, changeFeedService, meterRegistry);
+        ReflectionTestUtils.setField(inventoryAuditService, "chunkSize", 2);
+        ReflectionTestUtils.setField(inventoryAuditService, "parallelism", 2);
+        inventoryAuditService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryAuditService.shutdown();
+    }
+
+    @Test
+    void audit_shouldCheckEveryBookInChunks_onFirstRun() {
+        when(changeFeedService.getVisibleSeq()).thenReturn(7L);
+        when(bookRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(bookRepository.findInventoryByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .map(id -> id == 4L ? new InventoryCheckDto(id, 2, 5, 1) : new InventoryCheckDto(id, 1, 2, 1))
+                    .toList();
+        });
+
+        InventoryAuditReportDto report = inventoryAuditService.audit();
+
+        assertThat(report.fullScan()).isTrue();
+        assertThat(report.watermark()).isEqualTo(7L);
+        assertThat(report.checkedBooks()).isEqualTo(5);
+        assertThat(report.discrepancies()).extracting(InventoryCheckDto::bookId).containsExactly(4L);
+        assertThat(meterRegistry.get("library.inventory.discrepancies").gauge().value()).isEqualTo(1.0);
+        verify(bookRepository, times(3)).findInventoryByIdIn(any());
+        verify(changeLogRepository, never()).findChangedEntityIds(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void audit_shouldOnlyRecheckChangedBooks_afterWatermark() {
+        when(changeFeedService.getVisibleSeq()).thenReturn(7L, 12L);
+        when(bookRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findInventoryByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new InventoryCheckDto(1L, 0, 2, 1),
+                new InventoryCheckDto(2L, 1, 1, 0)));
+
+        inventoryAuditService.audit();
+
+        when(changeLogRepository.findChangedEntityIds(ChangeEntityType.BOOK, 7L, 12L)).thenReturn(List.of(1L));
+        when(bookRepository.findInventoryByIdIn(List.of(1L))).thenReturn(List.of(new InventoryCheckDto(1L, 1, 2, 1)));
+
+        InventoryAuditReportDto report = inventoryAuditService.audit();
+
+        assertThat(report.fullScan()).isFalse();
+        assertThat(report.watermark()).isEqualTo(12L);
+        assertThat(report.checkedBooks()).isEqualTo(1);
+        assertThat(report.discrepancies()).isEmpty();
+        assertThat(inventoryAuditService.getLastReport()).contains(report);
+    }
+
+    @Test
+    void audit_shouldDropDiscrepancy_whenBookWasDeleted() {
+        when(changeFeedService.getVisibleSeq()).thenReturn(3L, 4L);
+        when(bookRepository.findAllIds()).thenReturn(List.of(9L));
+        when(bookRepository.findInventoryByIdIn(List.of(9L)))
+                .thenReturn(List.of(new InventoryCheckDto(9L, 3, 2, 0)))
+                .thenReturn(List.of());
+        when(changeLogRepository.findChangedEntityIds(ChangeEntityType.BOOK, 3L, 4L)).thenReturn(List.of(9L));
+
+        assertThat(inventoryAuditService.audit().discrepancies()).hasSize(1);
+        assertThat(inventoryAuditService.audit().discrepancies()).isEmpty();
+    }
+}
@@ -1,17 +1,21 @@
 package com.shadoww.library.service.impl;
 
+import com.shadoww.library.exception.BusinessRejectionException;
 import com.shadoww.library.model.Borrow;
 import com.shadoww.library.model.Member;
 import com.shadoww.library.repository.BorrowRepository;
 import com.shadoww.library.repository.MemberRepository;
+import com.shadoww.library.service.ChangeFeedService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +29,8 @@ public class MemberServiceImplTests {
     private MemberRepository memberRepository;
     @Mock
     private BorrowRepository borrowRepository;
+    @Mock
+    private ChangeFeedService changeFeedService;
 
     private MemberServiceImpl memberService;
 
@@ -34,7 +40,9 @@ public class MemberServiceImplTests {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        memberService = new MemberServiceImpl(memberRepository, borrowRepository);
+        memberService = new MemberServiceImpl(memberRepository, borrowRepository, changeFeedService);
+        ReflectionTestUtils.setField(memberService, "lookupMaxIds", 3);
+        ReflectionTestUtils.setField(memberService, "lookupChunkSize", 2);
     }
 
     // === create ===
@@ -131,7 +139,7 @@ public class MemberServiceImplTests {
         when(memberRepository.findById(memberId)).thenReturn(Optional.of(member));
         when(borrowRepository.findByMemberAndReturnedFalse(member)).thenReturn(List.of(new Borrow()));
 
-        assertThrows(IllegalStateException.class, () -> memberService.delete(memberId));
+        assertThrows(BusinessRejectionException.class, () -> memberService.delete(memberId));
     }
 
     @Test
@@ -172,4 +180,32 @@ public class MemberServiceImplTests {
 
         assertThat(result).isEqualTo(members);
     }
+
+    // === findAllById ===
+
+    @Test
+    void findAllById_shouldKeepRequestOrderAndSkipMissing() {
+        Member first = member(3L);
+        Member second = member(1L);
+
+        when(memberRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(first));
+        when(memberRepository.findAllById(List.of(1L))).thenReturn(List.of(second));
+
+        Map<Long, Member> result = memberService.findAllById(List.of(3L, 2L, 3L, 1L));
+
+        assertThat(result.keySet()).containsExactly(3L, 1L);
+        assertThat(result.values()).containsExactly(first, second);
+    }
+
+    @Test
+    void findAllById_shouldThrow_whenTooManyIds() {
+        assertThrows(IllegalArgumentException.class, () -> memberService.findAllById(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    private Member member(Long id) {
+        Member member = new Member();
+        member.setId(id);
+        member.setName(name);
+        return member;
+    }
 }
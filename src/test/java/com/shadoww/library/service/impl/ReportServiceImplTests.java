@@ -0,0 +1,155 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BorrowCountDto;
+import com.shadoww.library.dto.ReportJobDto;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.ReportStatus;
+import com.shadoww.library.service.ReportType;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class ReportServiceImplTests {
+
+    @Mock
+    private BorrowService borrowService;
+    @Mock
+    private BorrowRepository borrowRepository;
+
+    private ReportServiceImpl reportService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        reportService = new ReportServiceImpl(borrowService, borrowRepository);
+        ReflectionTestUtils.setField(reportService, "threads", 1);
+        ReflectionTestUtils.setField(reportService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(reportService, "resultTtlMs", 0L);
+        ReflectionTestUtils.setField(reportService, "maxRetainedResults", 10);
+        reportService.startExecutor();
+    }
+
+    @AfterEach
+    void shutdown() {
+        reportService.shutdownExecutor();
+    }
+
+    @Test
+    void submit_shouldRunReportAndKeepResult() throws Exception {
+        List<BorrowCountDto> counts = List.of(new BorrowCountDto("Clean Code", 2));
+        when(borrowService.getAllBorrowedBookTitlesWithCount()).thenReturn(counts);
+
+        ReportJobDto job = reportService.submit(ReportType.TITLE_COUNTS, null);
+
+        assertThat(awaitResult(job.id())).contains(counts);
+        assertThat(reportService.getJob(job.id()).status()).isEqualTo(ReportStatus.DONE);
+    }
+
+    @Test
+    void submit_shouldThrow_whenMemberNameMissingForHistory() {
+        assertThrows(IllegalArgumentException.class, () -> reportService.submit(ReportType.MEMBER_HISTORY, " "));
+    }
+
+    @Test
+    void submit_shouldReject_whenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(borrowService.getAllBorrowedBookTitlesWithCount()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        reportService.submit(ReportType.TITLE_COUNTS, null); // running
+        reportService.submit(ReportType.TITLE_COUNTS, null); // queued
+
+        RejectedExecutionException ex = assertThrows(RejectedExecutionException.class,
+                () -> reportService.submit(ReportType.TITLE_COUNTS, null));
+        release.countDown();
+
+        assertThat(ex.getMessage()).isEqualTo("Too many report jobs in progress, try again later");
+    }
+
+    @Test
+    void cancel_shouldStopQueuedJob() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(borrowService.getAllBorrowedBookTitlesWithCount()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        reportService.submit(ReportType.TITLE_COUNTS, null);
+        ReportJobDto queued = reportService.submit(ReportType.TITLE_COUNTS, null);
+
+        ReportJobDto cancelled = reportService.cancel(queued.id());
+        release.countDown();
+
+        assertThat(cancelled.status()).isEqualTo(ReportStatus.CANCELLED);
+        assertThrows(IllegalStateException.class, () -> reportService.getResult(queued.id()));
+    }
+
+    @Test
+    void evictExpired_shouldDropFinishedJobs() throws Exception {
+        when(borrowService.getAllBorrowedBookTitlesWithCount()).thenReturn(List.of());
+
+        ReportJobDto job = reportService.submit(ReportType.TITLE_COUNTS, null);
+        awaitResult(job.id());
+        Thread.sleep(5);
+
+        reportService.evictExpired();
+
+        assertThrows(EntityNotFoundException.class, () -> reportService.getJob(job.id()));
+    }
+
+    @Test
+    void submit_shouldDropOldestFinishedJob_whenRetainedResultsExceedCap() throws Exception {
+        ReflectionTestUtils.setField(reportService, "maxRetainedResults", 1);
+        when(borrowService.getAllBorrowedBookTitlesWithCount()).thenReturn(List.of());
+
+        ReportJobDto first = reportService.submit(ReportType.TITLE_COUNTS, null);
+        awaitResult(first.id());
+        ReportJobDto second = reportService.submit(ReportType.TITLE_COUNTS, null);
+        awaitResult(second.id());
+
+        for (int i = 0; i < 500 && isRetained(first.id()); i++) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(EntityNotFoundException.class, () -> reportService.getJob(first.id()));
+        assertThat(reportService.getJob(second.id()).status()).isEqualTo(ReportStatus.DONE);
+    }
+
+    private boolean isRetained(UUID id) {
+        try {
+            reportService.getJob(id);
+            return true;
+        } catch (EntityNotFoundException ex) {
+            return false;
+        }
+    }
+
+    private Optional<Object> awaitResult(UUID id) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Optional<Object> result = reportService.getResult(id);
+            if (result.isPresent()) {
+                return result;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report " + id + " did not finish in time");
+    }
+}
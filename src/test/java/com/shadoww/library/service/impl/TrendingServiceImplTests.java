@@ -0,0 +1,110 @@
+package com.shadoww.library.service.impl;
+
+import com.shadoww.library.dto.BookResponseDto;
+import com.shadoww.library.dto.TrendingBookDto;
+import com.shadoww.library.service.CatalogSnapshot;
+import com.shadoww.library.service.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class TrendingServiceImplTests {
+
+    private static final long HALF_LIFE_MS = 1000;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private TrendingServiceImpl trendingService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        trendingService = new TrendingServiceImpl(catalogSnapshotService);
+        ReflectionTestUtils.setField(trendingService, "windowMs", 3_600_000L);
+        ReflectionTestUtils.setField(trendingService, "halfLifeMs", 900_000L);
+        ReflectionTestUtils.setField(trendingService, "width", 64);
+        ReflectionTestUtils.setField(trendingService, "depth", 4);
+        ReflectionTestUtils.setField(trendingService, "slots", 8);
+        ReflectionTestUtils.setField(trendingService, "maxResults", 5);
+        trendingService.start();
+    }
+
+    @Test
+    void findTrending_shouldRankRecordedBorrows_withSnapshotTitles() {
+        when(catalogSnapshotService.getSnapshot()).thenReturn(Optional.of(new CatalogSnapshot(
+                Map.of(1L, new BookResponseDto(1L, "Dune", "Herbert", 3)), Instant.now())));
+
+        trendingService.recordBorrow(1L);
+        trendingService.recordBorrow(2L);
+        trendingService.recordBorrow(1L);
+
+        List<TrendingBookDto> trending = trendingService.findTrending(5);
+
+        assertThat(trending).extracting(TrendingBookDto::bookId).containsExactly(1L, 2L);
+        assertThat(trending).extracting(TrendingBookDto::title).containsExactly("Dune", null);
+        assertThat(trending.get(0).borrows()).isCloseTo(2.0, within(0.01));
+    }
+
+    @Test
+    void findTrending_shouldThrow_whenLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> trendingService.findTrending(0));
+        assertThrows(IllegalArgumentException.class, () -> trendingService.findTrending(6));
+    }
+
+    @Test
+    void sketch_shouldHalveCounts_everyHalfLife() {
+        TrendingSketch sketch = new TrendingSketch(2048, 4, 8, HALF_LIFE_MS, 0);
+
+        sketch.add(1L, 0);
+        sketch.add(1L, 0);
+        sketch.add(2L, HALF_LIFE_MS);
+
+        List<TrendingSketch.Entry> top = sketch.top(10, 0, 2 * HALF_LIFE_MS);
+
+        assertThat(top).extracting(TrendingSketch.Entry::bookId).containsExactly(1L, 2L);
+        assertThat(top.get(0).count()).isCloseTo(0.5, within(1e-9));
+        assertThat(top.get(1).count()).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void sketch_shouldDropOldBorrows_andKeepCounting_afterRescale() {
+        TrendingSketch sketch = new TrendingSketch(2048, 4, 8, HALF_LIFE_MS, 0);
+
+        sketch.add(1L, 0);
+        sketch.add(2L, 100 * HALF_LIFE_MS);
+
+        List<TrendingSketch.Entry> top = sketch.top(10, 0.5, 100 * HALF_LIFE_MS);
+
+        assertThat(top).extracting(TrendingSketch.Entry::bookId).containsExactly(2L);
+        assertThat(top.get(0).count()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void sketch_shouldOnlyAdmitBooks_thatBeatTheLowestSlot() {
+        TrendingSketch sketch = new TrendingSketch(2048, 4, 2, Long.MAX_VALUE, 0);
+
+        sketch.add(1L, 0);
+        sketch.add(1L, 0);
+        sketch.add(2L, 0);
+        sketch.add(3L, 0);
+
+        assertThat(sketch.top(10, 0, 0)).extracting(TrendingSketch.Entry::bookId).containsExactly(1L, 2L);
+
+        sketch.add(3L, 0);
+
+        assertThat(sketch.top(10, 0, 0)).extracting(TrendingSketch.Entry::bookId).containsExactly(1L, 3L);
+    }
+}
@@ -0,0 +1,200 @@
+package com.shadoww.library.stress;
+
+import com.shadoww.library.exception.BusinessRejectionException;
+import com.shadoww.library.exception.Rejection;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Borrow;
+import com.shadoww.library.model.Member;
+import com.shadoww.library.repository.BookRepository;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.MemberService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of threads borrowing and returning a small, contended set of books against the
+ * real H2-backed context, with a random mix of operations and random pauses per thread.
+ * Afterwards the stock, conservation and borrow limit invariants must hold. The seed is
+ * logged with the throughput and named in every failed assertion, so a failing schedule can be replayed.
+ */
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:torture;LOCK_TIMEOUT=30000",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "borrow.limit=3"
+})
+public class BorrowConcurrencyTortureTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowConcurrencyTortureTests.class);
+
+    private static final int THREADS = 200;
+    private static final int OPERATIONS_PER_THREAD = 40;
+    private static final int BOOKS = 12;
+    private static final int COPIES_PER_BOOK = 4;
+    private static final int MEMBERS = 60;
+
+    @Autowired
+    private BookService bookService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private BorrowService borrowService;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Value("${borrow.limit}")
+    private int borrowLimit;
+
+    @Test
+    void borrowAndReturnRace_shouldKeepInvariants() throws InterruptedException {
+        long seed = System.nanoTime();
+
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            bookIds.add(createBook("Torture Title " + i).getId());
+        }
+
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setName("Torture Member " + i);
+            memberIds.add(memberService.create(member).getId());
+        }
+
+        ConcurrentLinkedDeque<Long> openBorrows = new ConcurrentLinkedDeque<>();
+        Map<Rejection, AtomicLong> rejections = new EnumMap<>(Rejection.class);
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, new AtomicLong());
+        }
+        AtomicLong borrows = new AtomicLong();
+        AtomicLong returns = new AtomicLong();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(seed + t);
+            pool.execute(() -> {
+                awaitQuietly(start);
+                for (int op = 0; op < OPERATIONS_PER_THREAD; op++) {
+                    try {
+                        int dice = random.nextInt(10);
+                        if (dice < 5 || openBorrows.isEmpty()) {
+                            Borrow borrow = borrowService.borrowBook(pick(memberIds, random), pick(bookIds, random));
+                            openBorrows.addLast(borrow.getId());
+                            borrows.incrementAndGet();
+                        } else {
+                            // one in five returns races another thread for the same borrow
+                            Long borrowId = dice == 9 ? openBorrows.peekFirst() : openBorrows.pollFirst();
+                            if (borrowId != null) {
+                                borrowService.returnBook(borrowId);
+                                openBorrows.remove(borrowId);
+                                returns.incrementAndGet();
+                            }
+                        }
+                    } catch (BusinessRejectionException ex) {
+                        rejections.get(ex.getRejection()).incrementAndGet();
+                    } catch (Throwable ex) {
+                        unexpected.add(ex);
+                    }
+
+                    if (random.nextInt(4) == 0) {
+                        LockSupport.parkNanos(random.nextInt(200_000));
+                    }
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long operations = (long) THREADS * OPERATIONS_PER_THREAD;
+        log.info("torture seed={} threads={} ops={} {} ops/s, borrows={} returns={} rejections={}",
+                seed, THREADS, operations, Math.round(operations / seconds), borrows.get(), returns.get(), rejections);
+
+        assertThat(unexpected).as("unexpected failures, seed " + seed).isEmpty();
+        assertInvariants(bookIds, seed);
+    }
+
+    private void assertInvariants(List<Long> bookIds, long seed) {
+        List<Borrow> active = borrowRepository.findByReturnedFalse();
+
+        Map<Long, Long> activeByBook = active.stream()
+                .collect(Collectors.groupingBy(borrow -> borrow.getBook().getId(), Collectors.counting()));
+        Map<Long, Long> activeByMember = active.stream()
+                .collect(Collectors.groupingBy(borrow -> borrow.getMember().getId(), Collectors.counting()));
+
+        Map<Long, Book> books = new HashMap<>(bookRepository.findAllById(bookIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity())));
+
+        for (Long bookId : bookIds) {
+            Book book = books.get(bookId);
+            long onLoan = activeByBook.getOrDefault(bookId, 0L);
+
+            assertThat(book.getAmount()).as("stock of book %d, seed %d", bookId, seed).isNotNegative();
+            assertThat(book.getAmount() + onLoan).as("copies of book %d, seed %d", bookId, seed)
+                    .isEqualTo(COPIES_PER_BOOK);
+        }
+
+        assertThat(activeByMember.values()).as("active borrows per member, seed %d", seed)
+                .allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(borrowLimit));
+    }
+
+    private Book createBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Stress Tester");
+        Book created = bookService.createOrIncrement(book);
+
+        Book withCopies = new Book();
+        withCopies.setTitle(created.getTitle());
+        withCopies.setAuthor(created.getAuthor());
+        withCopies.setAmount(COPIES_PER_BOOK);
+        return bookService.update(created.getId(), withCopies);
+    }
+
+    private static Long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.shadoww.library.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shadoww.library.controller.BookController;
+import com.shadoww.library.controller.BorrowController;
+import com.shadoww.library.controller.MemberController;
+import com.shadoww.library.dto.TopBorrowedBookDto;
+import com.shadoww.library.model.Book;
+import com.shadoww.library.model.Member;
+import com.shadoww.library.repository.BorrowRepository;
+import com.shadoww.library.service.BookService;
+import com.shadoww.library.service.BorrowService;
+import com.shadoww.library.service.BorrowStatsService;
+import com.shadoww.library.service.MemberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class StartupWarmupTests {
+
+    @Mock
+    private BookService bookService;
+    @Mock
+    private MemberService memberService;
+    @Mock
+    private BorrowService borrowService;
+    @Mock
+    private BorrowStatsService borrowStatsService;
+    @Mock
+    private BorrowRepository borrowRepository;
+    @Mock
+    private BookController bookController;
+    @Mock
+    private MemberController memberController;
+    @Mock
+    private BorrowController borrowController;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        warmup = spy(new StartupWarmup(bookService, memberService, borrowService, borrowStatsService, borrowRepository,
+                bookController, memberController, borrowController, new ObjectMapper(), transactionManager, eventPublisher));
+        ReflectionTestUtils.setField(warmup, "budgetMs", 60_000L);
+        ReflectionTestUtils.setField(warmup, "iterations", 3);
+        ReflectionTestUtils.setField(warmup, "hotBooks", 10);
+
+        doNothing().when(warmup).replay();
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void run_shouldRollBackEveryRound() {
+        warmup.run(new DefaultApplicationArguments());
+
+        verify(warmup, times(3)).replay();
+        verify(transactionManager, times(3)).commit(argThat(TransactionStatus::isRollbackOnly));
+    }
+
+    @Test
+    void run_shouldStopReplaying_whenBudgetRunsOut() {
+        ReflectionTestUtils.setField(warmup, "budgetMs", 0L);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        verify(warmup, never()).replay();
+    }
+
+    @Test
+    void preloadHotEntries_shouldReadHotBooksAndTheirHolders() {
+        when(borrowStatsService.getTopBorrowed(any(), anyInt())).thenReturn(List.of(
+                new TopBorrowedBookDto(1L, "Hot", 9, 3),
+                new TopBorrowedBookDto(2L, "Warm", 4, 4)));
+        when(borrowRepository.findOpenMemberIdsByBookIdIn(any(), any())).thenReturn(List.of(5L));
+        when(bookService.findAllById(List.of(1L, 2L))).thenReturn(Map.of(1L, new Book()));
+        when(memberService.findAllById(List.of(5L))).thenReturn(Map.of(5L, new Member()));
+
+        assertThat(warmup.preloadHotEntries()).isEqualTo(2);
+    }
+
+    @Test
+    void preloadHotEntries_shouldSkipLookups_whenNothingWasBorrowed() {
+        assertThat(warmup.preloadHotEntries()).isZero();
+
+        verifyNoInteractions(bookService, memberService, borrowRepository);
+    }
+}